@@ -0,0 +1,32 @@
+package com.travel.benchmarks;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+
+import com.travel.pages.HomePage;
+
+/**
+ * Exposes the protected page-object primitives so the benchmarks can call them directly.
+ */
+public class BenchmarkPage extends HomePage {
+
+    public BenchmarkPage(WebDriver driver) {
+        super(driver);
+    }
+
+    public void clickElement(By locator) {
+        click(locator);
+    }
+
+    public void waitShort() {
+        shortWait();
+    }
+
+    public void clearOverlays() {
+        removeOverlays();
+    }
+
+    public Object script(String script, Object... args) {
+        return jsExecutor.executeScript(script, args);
+    }
+}
@@ -0,0 +1,47 @@
+package com.travel.benchmarks;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openqa.selenium.WebDriver;
+
+import com.travel.mock.MockTravelServer;
+import com.travel.utils.WebDriverFactory;
+
+/**
+ * One headless browser and one mock travel site shared by every invocation of a benchmark.
+ * The fixture pages come from {@link MockTravelServer}, so nothing leaves the machine.
+ */
+@State(Scope.Benchmark)
+public class BrowserState {
+    // Enough results to make parsing measurable, all on one page so no lazy loading happens mid-benchmark
+    static final int RESULT_COUNT = 120;
+
+    MockTravelServer server;
+    WebDriver driver;
+    BenchmarkPage page;
+
+    @Setup(Level.Trial)
+    public void startBrowser() {
+        server = new MockTravelServer(0, RESULT_COUNT, RESULT_COUNT, 0);
+        server.start();
+        driver = WebDriverFactory.createDriver(System.getProperty("browser", "chrome"));
+        page = new BenchmarkPage(driver);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopBrowser() {
+        if (driver != null) {
+            WebDriverFactory.quitDriver(driver);
+        }
+        if (server != null) {
+            server.close();
+        }
+    }
+
+    void openHome() {
+        driver.get(server.baseUrl() + "/");
+    }
+}
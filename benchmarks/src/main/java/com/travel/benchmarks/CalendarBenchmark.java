@@ -0,0 +1,46 @@
+package com.travel.benchmarks;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Latency of the calendar steps: {@code selectNextMonthDate} (opening the calendar and picking a day in the
+ * 7th-14th range of next month) and a 60-day {@code availableDates} scan.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = "-Dprofile=headless-ci")
+public class CalendarBenchmark {
+
+    // Every invocation starts from a freshly loaded form with the calendar closed
+    @Setup(Level.Invocation)
+    public void openHome(BrowserState browser) {
+        browser.openHome();
+    }
+
+    @Benchmark
+    public void selectNextMonthDate(BrowserState browser) {
+        browser.page.selectNextMonthDate();
+    }
+
+    @Benchmark
+    public List<LocalDate> availableDates(BrowserState browser) {
+        return browser.page.availableDates(LocalDate.now(), LocalDate.now().plusDays(60));
+    }
+}
@@ -0,0 +1,67 @@
+package com.travel.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+
+/**
+ * Latency of {@code BasePage.click} and the {@code shortWait} that follows every click.
+ *
+ * The {@code covered} target sits under a transparent full-page layer, like the live site's overlays, so the
+ * click has to take its occluded-element branch.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Dprofile=headless-ci")
+public class ClickBenchmark {
+    private static final By TARGET = By.id("bench-target");
+
+    // Adds a clickable button, optionally covered by an element that swallows native clicks
+    private static final String FIXTURE_SCRIPT =
+        "var button = document.createElement('button');" +
+        "button.id = 'bench-target';" +
+        "button.textContent = 'Target';" +
+        "button.style.cssText = 'position: fixed; top: 200px; left: 200px; width: 120px; height: 40px;';" +
+        "button.addEventListener('click', function() { window.__clicks = (window.__clicks || 0) + 1; });" +
+        "document.body.appendChild(button);" +
+        "if (arguments[0]) {" +
+        "   var cover = document.createElement('div');" +
+        "   cover.id = 'bench-cover';" +
+        "   cover.style.cssText = 'position: fixed; top: 0; left: 0; width: 100%; height: 100%; z-index: 50;';" +
+        "   document.body.appendChild(cover);" +
+        "}";
+
+    @Param({"visible", "covered"})
+    public String target;
+
+    @Setup(Level.Trial)
+    public void addFixture(BrowserState browser) {
+        browser.openHome();
+        browser.page.script(FIXTURE_SCRIPT, "covered".equals(target));
+    }
+
+    @Benchmark
+    public void click(BrowserState browser) {
+        browser.page.clickElement(TARGET);
+    }
+
+    @Benchmark
+    public void shortWait(BrowserState browser) {
+        browser.page.waitShort();
+    }
+}
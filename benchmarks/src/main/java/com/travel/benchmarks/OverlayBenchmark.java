@@ -0,0 +1,67 @@
+package com.travel.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Latency of {@code HomePage.removeOverlays} on a page with a given number of banners, overlays and high
+ * z-index layers. The removal scans every inline-styled element, so cost grows with page size as well.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+// Measures the sweep itself, so document-start suppression stays off
+@Fork(value = 1, jvmArgsAppend = {"-Dprofile=headless-ci", "-Doverlay.suppress=false"})
+public class OverlayBenchmark {
+    // Recreates the overlays removed by the previous invocation, plus inline-styled elements that must survive
+    private static final String FIXTURE_SCRIPT =
+        "var count = arguments[0];" +
+        "var root = document.getElementById('bench-overlays');" +
+        "if (!root) {" +
+        "   root = document.createElement('div');" +
+        "   root.id = 'bench-overlays';" +
+        "   document.body.appendChild(root);" +
+        "}" +
+        "root.innerHTML = '';" +
+        "for (var i = 0; i < count; i++) {" +
+        "   var kind = i % 4;" +
+        "   var el = document.createElement('div');" +
+        "   if (kind === 0) { el.className = 'promoBanner'; }" +
+        "   else if (kind === 1) { el.className = 'modalOverlay'; }" +
+        "   else if (kind === 2) { el.style.cssText = 'position: fixed; z-index: 10000;'; }" +
+        "   else { el.style.cssText = 'position: relative; z-index: 1;'; }" +
+        "   root.appendChild(el);" +
+        "}";
+
+    @Param({"10", "200"})
+    public int overlays;
+
+    @Setup(Level.Trial)
+    public void openPage(BrowserState browser) {
+        browser.openHome();
+    }
+
+    @Setup(Level.Invocation)
+    public void addOverlays(BrowserState browser) {
+        browser.page.script(FIXTURE_SCRIPT, overlays);
+    }
+
+    @Benchmark
+    public void removeOverlays(BrowserState browser) {
+        browser.page.clearOverlays();
+    }
+}
@@ -0,0 +1,72 @@
+package com.travel.benchmarks;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import com.travel.pages.FlightRecord;
+import com.travel.pages.FlightResults;
+
+/**
+ * Latency and allocation of parsing the results listing, on a mock search with
+ * {@link BrowserState#RESULT_COUNT} flight cards.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Dprofile=headless-ci", "-Dprice.store=none"})
+public class ResultsBenchmark {
+    private PrintStream originalOut;
+
+    @Setup(Level.Trial)
+    public void openResults(BrowserState browser) {
+        browser.driver.get(browser.server.searchUrl("DEL", "BOM", LocalDate.now().plusDays(30)));
+        new WebDriverWait(browser.driver, Duration.ofSeconds(15)).until(
+            ExpectedConditions.numberOfElementsToBe(By.cssSelector("div.listingCard"), BrowserState.RESULT_COUNT));
+
+        // printFlightDetails reports to stdout; keep JMH's own output readable
+        originalOut = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    @TearDown(Level.Trial)
+    public void restoreOut() {
+        System.setOut(originalOut);
+    }
+
+    @Benchmark
+    public List<FlightRecord> extractFlights(BrowserState browser) {
+        return browser.page.extractFlights();
+    }
+
+    @Benchmark
+    public FlightResults extractResults(BrowserState browser) {
+        return browser.page.extractResults();
+    }
+
+    @Benchmark
+    public void printFlightDetails(BrowserState browser) {
+        browser.page.printFlightDetails();
+    }
+}
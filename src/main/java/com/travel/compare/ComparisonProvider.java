@@ -0,0 +1,100 @@
+package com.travel.compare;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import com.travel.utils.SiteConfig;
+
+/**
+ * A site to compare fares with: how to build its one-way search URL and how to read fares off the result.
+ */
+public final class ComparisonProvider {
+    /**
+     * Builds a provider's search URL from airport codes and a date.
+     */
+    @FunctionalInterface
+    public interface SearchUrl {
+        String build(String fromCode, String toCode, LocalDate date);
+    }
+
+    private static final DateTimeFormatter DAY_MONTH_YEAR = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    private static final DateTimeFormatter COMPACT = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    private final String name;
+    private final SearchUrl searchUrl;
+    private final PriceExtractor extractor;
+
+    public ComparisonProvider(String name, SearchUrl searchUrl, PriceExtractor extractor) {
+        this.name = name;
+        this.searchUrl = searchUrl;
+        this.extractor = extractor;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String searchUrl(String fromCode, String toCode, LocalDate date) {
+        return searchUrl.build(fromCode, toCode, date);
+    }
+
+    public PriceExtractor getExtractor() {
+        return extractor;
+    }
+
+    /**
+     * One provider per {@code -Dcomparison.sites} entry. Google Flights, Cleartrip and Goibibo get their own
+     * deep links and extractors; any other site is sent an {@code itinerary} query (the mock site's format)
+     * and read with the generic extractors.
+     */
+    public static List<ComparisonProvider> configured() {
+        List<ComparisonProvider> providers = new ArrayList<>();
+        for (String site : SiteConfig.comparisonSites()) {
+            providers.add(forSite(site));
+        }
+        return providers;
+    }
+
+    public static ComparisonProvider forSite(String site) {
+        String base = site.endsWith("/") ? site.substring(0, site.length() - 1) : site;
+        String host = URI.create(base).getHost();
+        host = host == null ? base : host.toLowerCase(Locale.ROOT);
+
+        if (host.endsWith("google.com") && base.contains("/travel/flights")) {
+            return new ComparisonProvider("Google Flights",
+                (from, to, date) -> base + "?hl=en&curr=INR&q=" + URLEncoder.encode(
+                    "Flights from " + from + " to " + to + " on " + date + " one way", StandardCharsets.UTF_8),
+                PriceExtractor.firstOf(PriceExtractor.css("li div[class*='YMlIz'] span"),
+                    PriceExtractor.currencyText()));
+        }
+        if (host.endsWith("cleartrip.com")) {
+            return new ComparisonProvider("Cleartrip",
+                (from, to, date) -> base + "/flights/results?adults=1&childs=0&infants=0&class=Economy"
+                    + "&depart_date=" + date.format(DAY_MONTH_YEAR) + "&from=" + from + "&to=" + to + "&intl=n",
+                PriceExtractor.firstOf(PriceExtractor.css("[data-testid='airlineBlock'] p.fw-500"),
+                    PriceExtractor.currencyText()));
+        }
+        if (host.endsWith("goibibo.com")) {
+            return new ComparisonProvider("Goibibo",
+                (from, to, date) -> base + "/flights/air-" + from + "-" + to + "-" + date.format(COMPACT)
+                    + "--1-0-0-E-D/",
+                PriceExtractor.firstOf(PriceExtractor.css("[class*='fltPrice'], [class*='priceStyled']"),
+                    PriceExtractor.currencyText()));
+        }
+        String name = base.substring(base.lastIndexOf('/') + 1);
+        return new ComparisonProvider(name.isEmpty() ? host : name,
+            (from, to, date) -> base + "?itinerary=" + from + "-" + to + "-" + date.format(DAY_MONTH_YEAR),
+            PriceExtractor.firstOf(PriceExtractor.css("[data-price]"), PriceExtractor.currencyText()));
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,110 @@
+package com.travel.compare;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import com.travel.utils.DriverPool;
+
+/**
+ * Queries every comparison provider at the same time, each in its own pooled browser session, and merges the
+ * cheapest fares into a {@link PriceTable}. Total time is roughly that of the slowest provider.
+ *
+ * Providers that do not show a fare within {@code -Dcomparison.timeoutSec} (default 30) are reported as timed
+ * out instead of holding up the rest.
+ */
+public final class PriceComparison {
+    private static final Duration PROVIDER_TIMEOUT = Duration.ofSeconds(Long.getLong("comparison.timeoutSec", 30L));
+
+    private PriceComparison() {
+    }
+
+    public static PriceTable compare(String fromCode, String toCode, LocalDate date,
+                                     List<ComparisonProvider> providers) {
+        String browser = System.getProperty("browser", "chrome");
+        String route = fromCode + " -> " + toCode + " on " + date;
+        // Every test thread may compare at once, each holding its own session plus one per provider
+        DriverPool.ensureCapacity(Integer.getInteger("threads", 1) * (1 + providers.size()));
+
+        long start = System.nanoTime();
+        List<PriceTable.Row> rows = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, providers.size()), runnable -> {
+            Thread thread = new Thread(runnable, "price-comparison");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<PriceTable.Row>> results = new ArrayList<>();
+            for (ComparisonProvider provider : providers) {
+                results.add(executor.submit(() -> query(provider, browser, fromCode, toCode, date)));
+            }
+            // Small grace period on top of the provider timeout for session checkout and reset
+            long deadline = System.nanoTime() + PROVIDER_TIMEOUT.plusSeconds(15).toNanos();
+            for (int i = 0; i < providers.size(); i++) {
+                rows.add(await(providers.get(i), results.get(i), start, deadline));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return new PriceTable(route, rows, (System.nanoTime() - start) / 1_000_000L);
+    }
+
+    private static PriceTable.Row await(ComparisonProvider provider, Future<PriceTable.Row> result, long start,
+                                        long deadline) {
+        try {
+            return result.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException | CancellationException e) {
+            result.cancel(true);
+            // The provider ran from the start of the comparison until it was given up on, grace period included
+            return new PriceTable.Row(provider.getName(), null, 0, (System.nanoTime() - start) / 1_000_000L,
+                "timed out");
+        } catch (ExecutionException e) {
+            return new PriceTable.Row(provider.getName(), null, 0, 0, "failed: " + e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new PriceTable.Row(provider.getName(), null, 0, 0, "interrupted");
+        }
+    }
+
+    private static PriceTable.Row query(ComparisonProvider provider, String browser, String fromCode,
+                                        String toCode, LocalDate date) {
+        long start = System.nanoTime();
+        WebDriver driver = DriverPool.acquire(browser);
+        boolean healthy = false;
+        try {
+            driver.get(provider.searchUrl(fromCode, toCode, date));
+            List<Integer> prices;
+            try {
+                prices = new WebDriverWait(driver, PROVIDER_TIMEOUT, Duration.ofMillis(250)).until(d -> {
+                    List<Integer> found = provider.getExtractor().extractPrices(d);
+                    return found.isEmpty() ? null : found;
+                });
+            } catch (org.openqa.selenium.TimeoutException e) {
+                prices = Collections.emptyList();
+            }
+            healthy = true;
+            long latency = (System.nanoTime() - start) / 1_000_000L;
+            return prices.isEmpty()
+                ? new PriceTable.Row(provider.getName(), null, 0, latency, "no fares found")
+                : new PriceTable.Row(provider.getName(), Collections.min(prices), prices.size(), latency, null);
+        } finally {
+            if (healthy) {
+                DriverPool.release(driver);
+            } else {
+                DriverPool.discard(driver);
+            }
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.travel.compare;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Reads fares from a provider's results page.
+ *
+ * Returns every fare currently shown, in rupees; an empty list means the page has not rendered any fares yet
+ * and {@link PriceComparison} keeps polling until it does or the provider times out.
+ */
+@FunctionalInterface
+public interface PriceExtractor {
+
+    List<Integer> extractPrices(WebDriver driver);
+
+    /**
+     * Fares from the visible elements matching a CSS selector, taken from their {@code data-price} attribute
+     * or, failing that, from the digits in their text.
+     */
+    static PriceExtractor css(String selector) {
+        return driver -> toPrices(((JavascriptExecutor) driver).executeScript(
+            "return Array.prototype.map.call(document.querySelectorAll(arguments[0]), function(el) {" +
+            "   if (el.getClientRects().length === 0) { return null; }" +
+            "   return el.getAttribute('data-price') || el.textContent.replace(/[^0-9]/g, '');" +
+            "});", selector));
+    }
+
+    /**
+     * Fares from any rupee amount ({@code ₹}, {@code Rs.} or {@code INR}) in the page text; works on pages
+     * whose markup is unknown, at the cost of picking up unrelated amounts.
+     */
+    static PriceExtractor currencyText() {
+        return driver -> toPrices(((JavascriptExecutor) driver).executeScript(
+            "var text = document.body ? document.body.innerText : '';" +
+            "var pattern = /(?:\\u20B9|Rs\\.?|INR)\\s*([0-9][0-9,]{2,})/g;" +
+            "var prices = [];" +
+            "var match;" +
+            "while ((match = pattern.exec(text)) !== null) { prices.push(match[1].replace(/,/g, '')); }" +
+            "return prices;"));
+    }
+
+    /**
+     * Tries each extractor in turn and returns the first non-empty result.
+     */
+    static PriceExtractor firstOf(PriceExtractor... extractors) {
+        return driver -> {
+            for (PriceExtractor extractor : extractors) {
+                List<Integer> prices = extractor.extractPrices(driver);
+                if (!prices.isEmpty()) {
+                    return prices;
+                }
+            }
+            return new ArrayList<>();
+        };
+    }
+
+    private static List<Integer> toPrices(Object values) {
+        List<Integer> prices = new ArrayList<>();
+        if (values instanceof List) {
+            for (Object value : (List<?>) values) {
+                if (value == null) {
+                    continue;
+                }
+                String digits = value.toString().replaceAll("[^0-9]", "");
+                // Anything shorter is a count or a day, not a fare
+                if (digits.length() >= 3 && digits.length() <= 7) {
+                    prices.add(Integer.parseInt(digits));
+                }
+            }
+        }
+        return prices;
+    }
+}
@@ -0,0 +1,94 @@
+package com.travel.compare;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Cheapest fare found per provider, with how long each provider took.
+ */
+public final class PriceTable {
+    private final String route;
+    private final List<Row> rows = new ArrayList<>();
+    private final long elapsedMillis;
+
+    PriceTable(String route, List<Row> rows, long elapsedMillis) {
+        this.route = route;
+        this.rows.addAll(rows);
+        this.rows.sort(Comparator.comparing((Row row) -> row.price == null)
+            .thenComparing(row -> row.price == null ? 0 : row.price));
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public List<Row> getRows() {
+        return Collections.unmodifiableList(rows);
+    }
+
+    /**
+     * Wall-clock time of the whole comparison.
+     */
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public Optional<Row> cheapest() {
+        return rows.stream().filter(row -> row.price != null).findFirst();
+    }
+
+    public void print() {
+        System.out.println("\n=== Price Comparison: " + route + " ===");
+        System.out.println(String.format("%-20s %10s %10s  %s", "Provider", "Price", "Latency", "Status"));
+        long slowest = 0;
+        long total = 0;
+        for (Row row : rows) {
+            System.out.println(row);
+            slowest = Math.max(slowest, row.latencyMillis);
+            total += row.latencyMillis;
+        }
+        System.out.println(String.format("Compared in %d ms (slowest provider %d ms, sequential would be ~%d ms)",
+            elapsedMillis, slowest, total));
+    }
+
+    /**
+     * One provider's result; {@code price} is null when no fare could be read.
+     */
+    public static final class Row {
+        private final String provider;
+        private final Integer price;
+        private final int fares;
+        private final long latencyMillis;
+        private final String error;
+
+        Row(String provider, Integer price, int fares, long latencyMillis, String error) {
+            this.provider = provider;
+            this.price = price;
+            this.fares = fares;
+            this.latencyMillis = latencyMillis;
+            this.error = error;
+        }
+
+        public String getProvider() {
+            return provider;
+        }
+
+        public Integer getPrice() {
+            return price;
+        }
+
+        public long getLatencyMillis() {
+            return latencyMillis;
+        }
+
+        public String getError() {
+            return error;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-20s %10s %8d ms  %s", provider, price == null ? "-" : "Rs." + price,
+                latencyMillis, error != null ? error : fares + " fares");
+        }
+    }
+}
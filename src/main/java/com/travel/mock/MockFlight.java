@@ -0,0 +1,51 @@
+package com.travel.mock;
+
+/**
+ * A flight served by {@link MockTravelServer}.
+ */
+public final class MockFlight {
+    private final String id;
+    private final String airline;
+    private final String departure;
+    private final String duration;
+    private final int price;
+    private final int stops;
+
+    public MockFlight(String id, String airline, String departure, String duration, int price, int stops) {
+        this.id = id;
+        this.airline = airline;
+        this.departure = departure;
+        this.duration = duration;
+        this.price = price;
+        this.stops = stops;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getAirline() {
+        return airline;
+    }
+
+    public String getDeparture() {
+        return departure;
+    }
+
+    public String getDuration() {
+        return duration;
+    }
+
+    public int getPrice() {
+        return price;
+    }
+
+    public int getStops() {
+        return stops;
+    }
+
+    String toJson() {
+        return String.format("{\"id\":\"%s\",\"airline\":\"%s\",\"departure\":\"%s\",\"duration\":\"%s\","
+            + "\"price\":%d,\"stops\":%d}", id, airline, departure, duration, price, stops);
+    }
+}
@@ -0,0 +1,349 @@
+package com.travel.mock;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Embedded, offline stand-in for the travel sites the suite visits.
+ *
+ * Serves a home page with the flight search widget, a results listing that lazy-loads flight cards from a JSON
+ * API while scrolling, and stub search-engine / comparison pages, all using the DOM structure {@code HomePage}
+ * relies on ({@code fsw_inputBox}, {@code react-autosuggest}, {@code DayPicker-Day}, {@code listingCard},
+ * {@code priceSection}). Flights are generated deterministically from the route and date, so runs are
+ * reproducible. Result count, page size and per-request latency are configurable.
+ *
+ * Pages also load a stylesheet and a script bundle from {@code /static/}. These are the only cacheable
+ * responses ({@code max-age} plus an {@code ETag}, answered with 304 when it matches); pages and API calls are
+ * {@code no-store}, like the live site's.
+ */
+public final class MockTravelServer implements AutoCloseable {
+    private static final DateTimeFormatter ITINERARY_DATE = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    private static final String[] AIRLINES = {"IndiGo", "Air India", "Vistara", "SpiceJet", "Akasa Air", "AirAsia"};
+    private static final Map<String, String> CITIES = new LinkedHashMap<>();
+    private static final String ASSET_CACHE_CONTROL = "public, max-age=3600";
+    private static final String SITE_CSS =
+        ".navigation, .listingHeader { box-sizing: border-box; }\n"
+        + ".listingCard:hover { background: #fafcff; }\n";
+
+    static {
+        CITIES.put("DEL", "Delhi");
+        CITIES.put("BOM", "Mumbai");
+        CITIES.put("BLR", "Bengaluru");
+        CITIES.put("GOI", "Goa");
+        CITIES.put("MAA", "Chennai");
+        CITIES.put("CCU", "Kolkata");
+        CITIES.put("HYD", "Hyderabad");
+        CITIES.put("PNQ", "Pune");
+        CITIES.put("JAI", "Jaipur");
+        CITIES.put("AMD", "Ahmedabad");
+        CITIES.put("COK", "Kochi");
+        CITIES.put("LKO", "Lucknow");
+    }
+
+    private final int port;
+    private final int resultCount;
+    private final int pageSize;
+    private final long latencyMillis;
+    private final int assetKb;
+    private Response vendorScript;
+    private HttpServer server;
+    private ExecutorService executor;
+
+    /**
+     * @param port          port to bind, 0 for any free port
+     * @param resultCount   flights returned per search
+     * @param pageSize      flights per lazy-loaded results page
+     * @param latencyMillis delay added to every response
+     */
+    public MockTravelServer(int port, int resultCount, int pageSize, long latencyMillis) {
+        this(port, resultCount, pageSize, latencyMillis, 256);
+    }
+
+    /**
+     * @param assetKb size of the static script bundle every page loads
+     */
+    public MockTravelServer(int port, int resultCount, int pageSize, long latencyMillis, int assetKb) {
+        this.port = port;
+        this.resultCount = resultCount;
+        this.pageSize = Math.max(1, pageSize);
+        this.latencyMillis = latencyMillis;
+        this.assetKb = Math.max(0, assetKb);
+    }
+
+    /**
+     * Creates a server from {@code -Dmock.port}, {@code -Dmock.results}, {@code -Dmock.pageSize},
+     * {@code -Dmock.latencyMs} and {@code -Dmock.assetKb}.
+     */
+    public static MockTravelServer fromSystemProperties() {
+        return new MockTravelServer(Integer.getInteger("mock.port", 0), Integer.getInteger("mock.results", 60),
+            Integer.getInteger("mock.pageSize", 20), Long.getLong("mock.latencyMs", 0L),
+            Integer.getInteger("mock.assetKb", 256));
+    }
+
+    /**
+     * Runs the server until the JVM is stopped.
+     */
+    public static void main(String[] args) {
+        MockTravelServer mock = fromSystemProperties();
+        mock.start();
+        System.out.println("Mock travel site running at " + mock.baseUrl());
+    }
+
+    public synchronized void start() {
+        if (server != null) {
+            return;
+        }
+        try {
+            server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 0);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to start mock travel server: " + e.getMessage(), e);
+        }
+        executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "mock-travel-server");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/", exchange -> handle(exchange, this::route));
+        server.start();
+    }
+
+    @Override
+    public synchronized void close() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+            server = null;
+        }
+    }
+
+    /**
+     * Base URL of the running server, e.g. {@code http://127.0.0.1:41234}.
+     */
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    /**
+     * Results page URL for a one-way search, in the same format as the live site's deep links.
+     */
+    public String searchUrl(String fromCode, String toCode, LocalDate date) {
+        return baseUrl() + "/flight/search?itinerary=" + fromCode + "-" + toCode + "-" + date.format(ITINERARY_DATE)
+            + "&tripType=O&paxType=A-1_C-0_I-0&intl=false&cabinClass=E";
+    }
+
+    /**
+     * The flights a search returns, in the server's default order.
+     */
+    public List<MockFlight> flights(String fromCode, String toCode, LocalDate date) {
+        Random random = new Random((fromCode + toCode + date).hashCode());
+        List<MockFlight> flights = new ArrayList<>(resultCount);
+        for (int i = 0; i < resultCount; i++) {
+            String airline = AIRLINES[random.nextInt(AIRLINES.length)];
+            int departureMinutes = 5 * 60 + random.nextInt(18 * 12) * 5;
+            int stops = random.nextInt(10) < 6 ? 0 : 1 + random.nextInt(2);
+            int durationMinutes = 95 + random.nextInt(60) + stops * (90 + random.nextInt(120));
+            int price = 2500 + random.nextInt(9000) - stops * 400;
+            flights.add(new MockFlight(fromCode + toCode + "-" + i, airline,
+                String.format("%02d:%02d", departureMinutes / 60, departureMinutes % 60),
+                String.format("%dh %02dm", durationMinutes / 60, durationMinutes % 60), Math.max(price, 1999), stops));
+        }
+        return flights;
+    }
+
+    private interface Route {
+        Response apply(String path, Map<String, String> query) throws IOException;
+    }
+
+    private static final class Response {
+        private final int status;
+        private final String contentType;
+        private final byte[] body;
+        private final String cacheControl;
+        private final String etag;
+
+        private Response(int status, String contentType, String body) {
+            this(status, contentType, body, "no-store", null);
+        }
+
+        private Response(int status, String contentType, String body, String cacheControl, String etag) {
+            this.status = status;
+            this.contentType = contentType;
+            this.body = body.getBytes(StandardCharsets.UTF_8);
+            this.cacheControl = cacheControl;
+            this.etag = etag;
+        }
+    }
+
+    private void handle(HttpExchange exchange, Route route) throws IOException {
+        try {
+            if (latencyMillis > 0) {
+                Thread.sleep(latencyMillis);
+            }
+            URI uri = exchange.getRequestURI();
+            Response response;
+            try {
+                response = route.apply(uri.getPath(), parseQuery(uri.getRawQuery()));
+            } catch (RuntimeException e) {
+                response = new Response(400, "text/plain; charset=utf-8", "Bad request: " + e.getMessage());
+            }
+            exchange.getResponseHeaders().set("Content-Type", response.contentType);
+            exchange.getResponseHeaders().set("Cache-Control", response.cacheControl);
+            if (response.etag != null) {
+                exchange.getResponseHeaders().set("ETag", response.etag);
+                if (response.etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                    exchange.sendResponseHeaders(304, -1);
+                    return;
+                }
+            }
+            exchange.sendResponseHeaders(response.status, response.body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(response.body);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private Response route(String path, Map<String, String> query) throws IOException {
+        switch (path) {
+            case "/":
+                return html(template("home.html"));
+            case "/flight/search":
+                return html(template("results.html"));
+            case "/api/cities":
+                return json(citiesJson(query.getOrDefault("q", "")));
+            case "/api/flights":
+                return json(flightsJson(query));
+            case "/search-engine":
+                return html(template("search-engine.html"));
+            case "/static/site.css":
+                return asset("text/css; charset=utf-8", SITE_CSS);
+            case "/static/vendor.js":
+                return vendorScript();
+            default:
+                if (path.startsWith("/compare/")) {
+                    return html(template("compare.html").replace("{{site}}", path.substring("/compare/".length())));
+                }
+                return new Response(404, "text/plain; charset=utf-8", "Not found: " + path);
+        }
+    }
+
+    private String citiesJson(String prefix) {
+        String needle = prefix.trim().toLowerCase(Locale.ROOT);
+        StringBuilder json = new StringBuilder("[");
+        for (Map.Entry<String, String> city : CITIES.entrySet()) {
+            if (!needle.isEmpty() && (city.getValue().toLowerCase(Locale.ROOT).startsWith(needle)
+                || city.getKey().toLowerCase(Locale.ROOT).startsWith(needle))) {
+                if (json.length() > 1) {
+                    json.append(',');
+                }
+                json.append("{\"code\":\"").append(city.getKey()).append("\",\"name\":\"")
+                    .append(city.getValue()).append("\"}");
+            }
+        }
+        return json.append(']').toString();
+    }
+
+    private String flightsJson(Map<String, String> query) {
+        String[] itinerary = query.getOrDefault("itinerary", "DEL-BOM-01/01/2030").split("-");
+        LocalDate date = itinerary.length > 2 ? LocalDate.parse(itinerary[2], ITINERARY_DATE) : LocalDate.now();
+        List<MockFlight> flights = new ArrayList<>(flights(itinerary[0], itinerary.length > 1 ? itinerary[1] : "",
+            date));
+
+        if (query.containsKey("stops")) {
+            int stops = Integer.parseInt(query.get("stops"));
+            flights.removeIf(flight -> flight.getStops() != stops);
+        }
+        if (query.containsKey("airline")) {
+            flights.removeIf(flight -> !flight.getAirline().equals(query.get("airline")));
+        }
+        if ("price".equals(query.get("sort"))) {
+            flights.sort(Comparator.comparingInt(MockFlight::getPrice));
+        }
+
+        int page = Integer.parseInt(query.getOrDefault("page", "0"));
+        int totalPages = (flights.size() + pageSize - 1) / pageSize;
+        StringBuilder json = new StringBuilder();
+        json.append("{\"page\":").append(page).append(",\"totalPages\":").append(totalPages)
+            .append(",\"totalFlights\":").append(flights.size()).append(",\"flights\":[");
+        int end = Math.min(flights.size(), (page + 1) * pageSize);
+        for (int i = page * pageSize; i < end; i++) {
+            if (i > page * pageSize) {
+                json.append(',');
+            }
+            json.append(flights.get(i).toJson());
+        }
+        return json.append("]}").toString();
+    }
+
+    private String template(String name) throws IOException {
+        try (InputStream in = MockTravelServer.class.getResourceAsStream("/mock/" + name)) {
+            if (in == null) {
+                throw new IOException("Missing mock template " + name);
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    // Stands in for the live site's framework and analytics bundles; only its size matters
+    private synchronized Response vendorScript() {
+        if (vendorScript == null) {
+            StringBuilder script = new StringBuilder("window.__mockVendor = {loadedAt: Date.now()};\n");
+            String filler = "/* " + "x".repeat(72) + " */\n";
+            while (script.length() < assetKb * 1024) {
+                script.append(filler);
+            }
+            vendorScript = asset("application/javascript; charset=utf-8", script.toString());
+        }
+        return vendorScript;
+    }
+
+    private static Response asset(String contentType, String body) {
+        String etag = "\"" + Integer.toHexString(body.hashCode()) + "-" + body.length() + "\"";
+        return new Response(200, contentType, body, ASSET_CACHE_CONTROL, etag);
+    }
+
+    private static Response html(String body) {
+        return new Response(200, "text/html; charset=utf-8", body);
+    }
+
+    private static Response json(String body) {
+        return new Response(200, "application/json; charset=utf-8", body);
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> query = new LinkedHashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return query;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int split = pair.indexOf('=');
+            String key = split < 0 ? pair : pair.substring(0, split);
+            String value = split < 0 ? "" : pair.substring(split + 1);
+            query.put(URLDecoder.decode(key, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return query;
+    }
+}
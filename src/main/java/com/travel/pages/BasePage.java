@@ -1,27 +1,191 @@
 package com.travel.pages;
 
 import java.time.Duration;
+import java.util.List;
+import java.util.function.Function;
 
 import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptException;
 import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.ScriptTimeoutException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 
+import com.travel.utils.ActionTimeline;
+
 public class BasePage {
+    // How long the DOM must go without structural mutations before it counts as settled
+    private static final Duration DOM_QUIET_PERIOD = Duration.ofMillis(300);
+    // Readiness waits run inside the page and must resolve well within the driver's 30s script timeout
+    private static final Duration READINESS_TIMEOUT = Duration.ofSeconds(15);
+
+    /**
+     * Async readiness wait. Installs the page-side probe once per document (time of the last structural DOM
+     * mutation and number of in-flight fetch/XHR requests), then checks it on a page timer and calls back as
+     * soon as the condition named by arguments[0] holds or arguments[2] ms have passed:
+     * "loaded" (readyState complete), "quiet" (no DOM mutations for arguments[1] ms), "network" (no pending
+     * requests), "animations" (no finite animations running) or "ready" (all but animations).
+     * Calls back with [satisfied, readyState, pending, quietForMs, runningAnimations, jQuery.active].
+     */
+    private static final String AWAIT_READINESS_SCRIPT =
+        "var mode = arguments[0], quietMs = arguments[1], timeoutMs = arguments[2];" +
+        "var done = arguments[arguments.length - 1];" +
+        "var w = window;" +
+        "if (!w.__travelReady) {" +
+        "   var r = w.__travelReady = {pending: 0, lastMutation: Date.now()};" +
+        "   new MutationObserver(function() { r.lastMutation = Date.now(); })" +
+        "       .observe(document, {childList: true, subtree: true});" +
+        "   if (w.fetch) {" +
+        "       var originalFetch = w.fetch;" +
+        "       w.fetch = function() {" +
+        "           r.pending++;" +
+        "           return originalFetch.apply(this, arguments).finally(function() { r.pending--; });" +
+        "       };" +
+        "   }" +
+        "   var originalSend = XMLHttpRequest.prototype.send;" +
+        "   XMLHttpRequest.prototype.send = function() {" +
+        "       r.pending++;" +
+        "       this.addEventListener('loadend', function() { r.pending--; });" +
+        "       return originalSend.apply(this, arguments);" +
+        "   };" +
+        "}" +
+        "var probe = w.__travelReady;" +
+        "var deadline = Date.now() + timeoutMs;" +
+        "function state() {" +
+        "   var animations = document.getAnimations ? document.getAnimations().filter(function(a) {" +
+        "       return a.playState === 'running' && a.effect && a.effect.getTiming().iterations !== Infinity;" +
+        "   }).length : 0;" +
+        "   return [document.readyState, Math.max(probe.pending, 0), Date.now() - probe.lastMutation, animations," +
+        "       w.jQuery ? w.jQuery.active : 0];" +
+        "}" +
+        "function satisfied(s) {" +
+        "   if (mode === 'loaded') { return s[0] === 'complete'; }" +
+        "   if (mode === 'quiet') { return s[2] >= quietMs; }" +
+        "   if (mode === 'network') { return s[1] === 0 && s[4] === 0; }" +
+        "   if (mode === 'animations') { return s[3] === 0; }" +
+        "   return s[0] === 'complete' && s[1] === 0 && s[4] === 0 && s[2] >= quietMs;" +
+        "}" +
+        "(function check() {" +
+        "   var s = state();" +
+        "   if (satisfied(s) || Date.now() >= deadline) {" +
+        "       done([satisfied(s)].concat(s));" +
+        "   } else {" +
+        "       var settling = mode === 'quiet' || mode === 'ready';" +
+        "       setTimeout(check, settling ? Math.max(16, Math.min(100, quietMs - s[2])) : 50);" +
+        "   }" +
+        "})();";
+
+    // Async: calls back [stable, box] once the element's box is unchanged over two frames with no running
+    // animations, or after arguments[1] ms
+    private static final String AWAIT_ELEMENT_STABLE_SCRIPT =
+        "var el = arguments[0], deadline = Date.now() + arguments[1];" +
+        "var done = arguments[arguments.length - 1];" +
+        "var last = null, steady = 0;" +
+        "(function check() {" +
+        "   var rect = el.getBoundingClientRect();" +
+        "   var animations = el.getAnimations ? el.getAnimations({subtree: true}).filter(function(a) {" +
+        "       return a.playState === 'running';" +
+        "   }).length : 0;" +
+        "   var box = [rect.x, rect.y, rect.width, rect.height].join(',');" +
+        "   steady = box === last && animations === 0 ? steady + 1 : 0;" +
+        "   last = box;" +
+        "   if (steady >= 2 || Date.now() >= deadline) {" +
+        "       done([steady >= 2, box]);" +
+        "   } else {" +
+        "       requestAnimationFrame(check);" +
+        "   }" +
+        "})();";
+
+    // Identifies the site build by host and the set of script bundles it loads
+    private static final String PAGE_VERSION_SCRIPT =
+        "var sources = Array.prototype.map.call(document.querySelectorAll('script[src]'), function(s) {" +
+        "   return s.src.split('?')[0];" +
+        "}).sort().join('|');" +
+        "var hash = 0;" +
+        "for (var i = 0; i < sources.length; i++) {" +
+        "   hash = (hash * 31 + sources.charCodeAt(i)) | 0;" +
+        "}" +
+        "return location.host + '@' + (hash >>> 0).toString(16);";
+
+    /**
+     * Atomic click: actionability check, scroll, occlusion detection and dispatch in one round trip.
+     * Returns [strategy, description of the covering element or null]; strategy is "pending" while the
+     * element is hidden, disabled or detached. A fully transparent element is made opaque and clicked
+     * directly ("force-visible"). Marks the document with arguments[1] and watches for it unloading, so
+     * {@link #CLICK_NAVIGATION_SCRIPT} can tell afterwards whether the click started a page load.
+     */
+    private static final String ATOMIC_CLICK_SCRIPT =
+        "var el = arguments[0];" +
+        "if (!el.isConnected || el.disabled) { return ['pending', null]; }" +
+        "var style = window.getComputedStyle(el);" +
+        "var rect = el.getBoundingClientRect();" +
+        "if (style.display === 'none' || style.visibility === 'hidden' || rect.width === 0 || rect.height === 0) {" +
+        "   return ['pending', null];" +
+        "}" +
+        "window.__travelClickToken = arguments[1];" +
+        "window.__travelClickUnloading = false;" +
+        "if (!window.__travelClickWatch) {" +
+        "   window.__travelClickWatch = true;" +
+        "   window.addEventListener('beforeunload', function() { window.__travelClickUnloading = true; });" +
+        "}" +
+        "if (style.opacity === '0') {" +
+        "   el.style.opacity = '1';" +
+        "   el.click();" +
+        "   return ['force-visible', null];" +
+        "}" +
+        "if (rect.top < 0 || rect.left < 0 || rect.bottom > window.innerHeight || rect.right > window.innerWidth) {" +
+        "   el.scrollIntoView({block: 'center', inline: 'center'});" +
+        "   rect = el.getBoundingClientRect();" +
+        "}" +
+        "var x = rect.left + rect.width / 2;" +
+        "var y = rect.top + rect.height / 2;" +
+        "var hit = document.elementFromPoint(x, y);" +
+        "if (hit && hit !== el && !el.contains(hit)) {" +
+        "   el.click();" +
+        "   var cover = hit.tagName.toLowerCase() + (hit.id ? '#' + hit.id : '')" +
+        "       + (typeof hit.className === 'string' && hit.className ? '.' + hit.className.split(/\\s+/)[0] : '');" +
+        "   return ['javascript', cover];" +
+        "}" +
+        "var init = {bubbles: true, cancelable: true, composed: true, view: window, clientX: x, clientY: y," +
+        "   button: 0};" +
+        "var target = hit || el;" +
+        "if (window.PointerEvent) { target.dispatchEvent(new PointerEvent('pointerdown', init)); }" +
+        "target.dispatchEvent(new MouseEvent('mousedown', init));" +
+        "if (el.focus) { el.focus({preventScroll: true}); }" +
+        "if (window.PointerEvent) { target.dispatchEvent(new PointerEvent('pointerup', init)); }" +
+        "target.dispatchEvent(new MouseEvent('mouseup', init));" +
+        "target.click();" +
+        "return ['pointer', null];";
+
+    /**
+     * Async probe run after a click, once the click's round trip is over. Calls back on the next task with
+     * [still on the clicked document and not unloading, readyState]; a document replaced by a navigation no
+     * longer carries the click's token.
+     */
+    private static final String CLICK_NAVIGATION_SCRIPT =
+        "var token = arguments[0], done = arguments[arguments.length - 1];" +
+        "setTimeout(function() {" +
+        "   done([window.__travelClickToken === token && !window.__travelClickUnloading, document.readyState]);" +
+        "}, 0);";
+
     protected WebDriver driver;
     protected WebDriverWait wait;
     protected JavascriptExecutor jsExecutor;
 
     public BasePage(WebDriver driver) {
         this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(15), Duration.ofMillis(250));
+        this.wait = new TimedWait(driver, Duration.ofSeconds(15), Duration.ofMillis(250));
         this.jsExecutor = (JavascriptExecutor) driver;
     }
 
     protected WebElement waitForElementVisible(By locator) {
-        return wait.until(ExpectedConditions.visibilityOfElementLocated(locator));
+        try (ActionTimeline.Span span = ActionTimeline.start("BasePage.waitForElementVisible")) {
+            return wait.until(ExpectedConditions.visibilityOfElementLocated(locator));
+        }
     }
 
     protected WebElement waitForElementClickable(By locator) {
@@ -29,12 +193,14 @@ public class BasePage {
     }
 
     protected void scrollIntoView(WebElement element) {
-        jsExecutor.executeScript("arguments[0].scrollIntoView(true);", element);
-        // Use an explicit short wait instead of Thread.sleep
-        try {
-            shortWait();
-        } catch (Exception e) {
-            // ignore - best-effort wait
+        try (ActionTimeline.Span span = ActionTimeline.start("BasePage.scrollIntoView")) {
+            jsExecutor.executeScript("arguments[0].scrollIntoView(true);", element);
+            // Use an explicit short wait instead of Thread.sleep
+            try {
+                shortWait();
+            } catch (Exception e) {
+                // ignore - best-effort wait
+            }
         }
     }
 
@@ -42,39 +208,49 @@ public class BasePage {
         jsExecutor.executeScript("arguments[0].click();", element);
     }
 
+    /**
+     * Clicks the element in a single script round trip. The browser checks that the element is attached,
+     * visible and enabled, scrolls it to the centre of the viewport, looks for anything covering its centre
+     * point and then dispatches the click: a pointer/mouse event sequence when the element is on top, or a
+     * direct {@code element.click()} when an overlay is in the way. The strategy used, and the covering
+     * element if any, is recorded on the action timeline. A second, short probe then checks whether the click
+     * started a page load, and only then waits for it.
+     */
     protected void click(By locator) {
-        WebElement element = waitForElementClickable(locator);
-        try {
-            // Try multiple click strategies
+        try (ActionTimeline.Span span = ActionTimeline.start("BasePage.click")) {
+            String token = Long.toString(System.nanoTime(), 36);
+            List<?> outcome;
             try {
-                element.click();
-            } catch (Exception e1) {
-                // If normal click fails, try scrolling into view
-                scrollIntoView(element);
-                try {
-                    element.click();
-                } catch (Exception e2) {
-                    // If still fails, try JavaScript click
+                outcome = wait.until(d -> {
                     try {
-                        clickWithJavaScript(element);
-                    } catch (Exception e3) {
-                        // Final attempt: force visibility and click
-                        jsExecutor.executeScript(
-                            "arguments[0].style.opacity = '1';" +
-                            "arguments[0].style.visibility = 'visible';" +
-                            "arguments[0].style.display = 'block';" +
-                            "arguments[0].click();",
-                            element
-                        );
+                        List<?> result = (List<?>) jsExecutor.executeScript(ATOMIC_CLICK_SCRIPT,
+                            d.findElement(locator), token);
+                        return "pending".equals(result.get(0)) ? null : result;
+                    } catch (StaleElementReferenceException e) {
+                        // Re-rendered between lookup and click; look it up again on the next poll
+                        return null;
                     }
-                }
+                });
+            } catch (JavascriptException e) {
+                // Page blocks script execution; fall back to a plain WebDriver click
+                waitForElementClickable(locator).click();
+                span.branch("native");
+                shortWait();
+                return;
+            }
+            span.branch(outcome.get(1) == null ? String.valueOf(outcome.get(0))
+                : outcome.get(0) + " (covered by " + outcome.get(1) + ")");
+
+            List<?> after;
+            try {
+                after = awaitScript(READINESS_TIMEOUT, CLICK_NAVIGATION_SCRIPT, token);
+            } catch (JavascriptException e) {
+                // The document went away under the probe
+                after = null;
+            }
+            if (after == null || !Boolean.TRUE.equals(after.get(0)) || !"complete".equals(after.get(1))) {
+                shortWait();
             }
-            // Small explicit short wait after click instead of Thread.sleep
-            shortWait();
-        } catch (Exception e) {
-            // If normal click fails, try scrolling into view and JavaScript click
-            scrollIntoView(element);
-            clickWithJavaScript(element);
         }
     }
 
@@ -82,21 +258,120 @@ public class BasePage {
      * Short helper wait to replace Thread.sleep; waits up to 2 seconds for document.readyState to be 'complete'.
      */
     protected void shortWait() {
-        try {
-            WebDriverWait s = new WebDriverWait(driver, Duration.ofSeconds(2));
-            s.until(d -> ((JavascriptExecutor) d).executeScript("return document.readyState").toString().equals("complete"));
+        try (ActionTimeline.Span span = ActionTimeline.start("BasePage.shortWait")) {
+            awaitPage("loaded", Duration.ZERO, Duration.ofSeconds(2));
         } catch (Exception ignored) {
-            // fallback: small timed wait using Thread.sleep as last resort
-            try {
-                Thread.sleep(500);
-            } catch (InterruptedException ie) {
-                Thread.currentThread().interrupt();
+            // best-effort: the click has already been dispatched, carry on
+        }
+    }
+
+    /**
+     * Waits until the document has loaded, no fetch/XHR (or jQuery) requests are in flight and the DOM
+     * has stopped changing for a short quiet period.
+     */
+    protected void waitForPageReady() {
+        awaitPage("ready", DOM_QUIET_PERIOD, READINESS_TIMEOUT);
+    }
+
+    /**
+     * Waits until document.readyState is 'complete'.
+     */
+    protected void waitForDocumentLoaded() {
+        awaitPage("loaded", Duration.ZERO, READINESS_TIMEOUT);
+    }
+
+    /**
+     * Waits until no DOM nodes have been added or removed for {@code quietPeriod}.
+     */
+    protected void waitForDomQuiet(Duration quietPeriod) {
+        awaitPage("quiet", quietPeriod, READINESS_TIMEOUT);
+    }
+
+    protected void waitForDomQuiet() {
+        waitForDomQuiet(DOM_QUIET_PERIOD);
+    }
+
+    /**
+     * Waits until there are no in-flight fetch/XHR requests on the page.
+     */
+    protected void waitForNetworkIdle() {
+        awaitPage("network", Duration.ZERO, READINESS_TIMEOUT);
+    }
+
+    /**
+     * Waits until every finite CSS/Web animation in the document has finished.
+     */
+    protected void waitForAnimationsToFinish() {
+        awaitPage("animations", Duration.ZERO, READINESS_TIMEOUT);
+    }
+
+    /**
+     * Waits until the element has no running animations and its bounding box is unchanged over two frames.
+     */
+    protected WebElement waitForElementStable(WebElement element) {
+        List<?> result = awaitScript(READINESS_TIMEOUT, AWAIT_ELEMENT_STABLE_SCRIPT, element,
+            READINESS_TIMEOUT.toMillis());
+        if (!Boolean.TRUE.equals(result.get(0))) {
+            throw new TimeoutException("Element did not settle within " + READINESS_TIMEOUT.toMillis()
+                + " ms, last box " + result.get(1));
+        }
+        return element;
+    }
+
+    protected WebElement waitForElementStable(By locator) {
+        return waitForElementStable(waitForElementVisible(locator));
+    }
+
+    /**
+     * Derives a version for the loaded page from its host and script bundles and makes it the key for
+     * {@link LocatorCache} lookups on this thread, so learned locator orders follow site deployments.
+     */
+    protected String detectPageVersion() {
+        String version = String.valueOf(jsExecutor.executeScript(PAGE_VERSION_SCRIPT));
+        LocatorCache.usePageVersion(version);
+        return version;
+    }
+
+    // One async round trip per wait; the page calls back as soon as the condition holds
+    private void awaitPage(String mode, Duration quietPeriod, Duration timeout) {
+        List<?> result = awaitScript(timeout, AWAIT_READINESS_SCRIPT, mode, quietPeriod.toMillis(),
+            timeout.toMillis());
+        if (!Boolean.TRUE.equals(result.get(0))) {
+            throw new TimeoutException("Page not " + mode + " within " + timeout.toMillis()
+                + " ms (readyState, pending, quiet ms, animations, jQuery): " + result.subList(1, result.size()));
+        }
+    }
+
+    /**
+     * Runs an async script that reports through its callback, retrying when a navigation unloads the page
+     * mid-wait. Time spent is recorded as wait time on the current span.
+     */
+    protected List<?> awaitScript(Duration timeout, String script, Object... args) {
+        long start = System.nanoTime();
+        long deadline = start + timeout.toNanos();
+        try {
+            while (true) {
+                try {
+                    return (List<?>) jsExecutor.executeAsyncScript(script, args);
+                } catch (ScriptTimeoutException e) {
+                    throw new TimeoutException("Readiness script timed out: " + e.getMessage(), e);
+                } catch (JavascriptException e) {
+                    // A navigation replaced the document mid-wait; wait on the new one instead
+                    String message = String.valueOf(e.getMessage());
+                    if (!message.contains("unload") || System.nanoTime() >= deadline) {
+                        throw e;
+                    }
+                }
             }
+        } finally {
+            ActionTimeline.recordWait(System.nanoTime() - start);
         }
     }
 
     protected void sendKeys(By locator, String text) {
-        waitForElementVisible(locator).sendKeys(text);
+        try (ActionTimeline.Span span = ActionTimeline.start("BasePage.sendKeys")) {
+            waitForElementVisible(locator).sendKeys(text);
+        }
     }
 
     protected String getText(By locator) {
@@ -112,4 +387,21 @@ public class BasePage {
             }
         }
     }
-}
\ No newline at end of file
+
+    // Explicit wait that reports the time it blocks to the action timeline
+    static final class TimedWait extends WebDriverWait {
+        TimedWait(WebDriver driver, Duration timeout, Duration sleep) {
+            super(driver, timeout, sleep);
+        }
+
+        @Override
+        public <V> V until(Function<? super WebDriver, V> isTrue) {
+            long start = System.nanoTime();
+            try {
+                return super.until(isTrue);
+            } finally {
+                ActionTimeline.recordWait(System.nanoTime() - start);
+            }
+        }
+    }
+}
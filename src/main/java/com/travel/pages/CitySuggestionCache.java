@@ -0,0 +1,133 @@
+package com.travel.pages;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Remembers which autosuggest entry each city name selected, keyed by the entry's stable identifier
+ * (its airport code).
+ *
+ * With a cached code the city fields type the code and pick the matching suggestion directly, instead of
+ * typing the full name and searching the list by text. Entries expire after {@code -Dcity.cache.ttlHours}
+ * (default 168) and are evicted as soon as the site stops offering the cached code. The cache is persisted to
+ * {@code -Dcity.cache} (default {@code target/city-suggestion-cache.properties}) so later runs start warm.
+ */
+public final class CitySuggestionCache {
+    private static final Path CACHE_FILE = Paths.get(
+        System.getProperty("city.cache", "target/city-suggestion-cache.properties"));
+    private static final Duration TTL = Duration.ofHours(Long.getLong("city.cache.ttlHours", 168L));
+
+    private static final Map<String, CachedCode> ENTRIES = load();
+    private static final AtomicLong HITS = new AtomicLong();
+    private static final AtomicLong MISSES = new AtomicLong();
+    private static final AtomicLong EVICTIONS = new AtomicLong();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(CitySuggestionCache::save, "city-cache-save"));
+    }
+
+    private CitySuggestionCache() {
+    }
+
+    /**
+     * The cached code for a city, or null when there is none or it has expired.
+     */
+    static String lookup(String city) {
+        String key = key(city);
+        CachedCode cached = ENTRIES.get(key);
+        if (cached != null && System.currentTimeMillis() - cached.storedAt > TTL.toMillis()) {
+            ENTRIES.remove(key, cached);
+            cached = null;
+        }
+        (cached == null ? MISSES : HITS).incrementAndGet();
+        return cached == null ? null : cached.code;
+    }
+
+    static void store(String city, String code) {
+        if (code != null && !code.isEmpty()) {
+            ENTRIES.put(key(city), new CachedCode(code, System.currentTimeMillis()));
+        }
+    }
+
+    /**
+     * Drops a city whose cached suggestion could not be selected.
+     */
+    static void evict(String city) {
+        if (ENTRIES.remove(key(city)) != null) {
+            EVICTIONS.incrementAndGet();
+        }
+    }
+
+    /**
+     * Prints hit, miss and eviction counts for the current run.
+     */
+    public static void printStats() {
+        System.out.println(String.format("\n=== City Suggestion Cache ===\nentries=%d hits=%d misses=%d evictions=%d",
+            ENTRIES.size(), HITS.get(), MISSES.get(), EVICTIONS.get()));
+    }
+
+    /**
+     * Writes the cached codes to disk.
+     */
+    public static synchronized void save() {
+        Properties snapshot = new Properties();
+        ENTRIES.forEach((key, cached) -> snapshot.setProperty(key, cached.code + "," + cached.storedAt));
+        try {
+            if (CACHE_FILE.getParent() != null) {
+                Files.createDirectories(CACHE_FILE.getParent());
+            }
+            try (OutputStream out = Files.newOutputStream(CACHE_FILE)) {
+                snapshot.store(out, "Autosuggest code per city name, with the time it was stored");
+            }
+        } catch (IOException e) {
+            System.out.println("Warning: Could not save city suggestion cache: " + e.getMessage());
+        }
+    }
+
+    private static String key(String city) {
+        return city.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static Map<String, CachedCode> load() {
+        Map<String, CachedCode> entries = new ConcurrentHashMap<>();
+        if (!Files.isRegularFile(CACHE_FILE)) {
+            return entries;
+        }
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(CACHE_FILE)) {
+            properties.load(in);
+        } catch (IOException e) {
+            System.out.println("Warning: Could not read city suggestion cache: " + e.getMessage());
+            return entries;
+        }
+        for (String key : properties.stringPropertyNames()) {
+            String[] value = properties.getProperty(key).split(",");
+            try {
+                entries.put(key, new CachedCode(value[0], Long.parseLong(value[1])));
+            } catch (ArrayIndexOutOfBoundsException | NumberFormatException ignored) {
+                // Corrupt entry; the city is simply looked up by name again
+            }
+        }
+        return entries;
+    }
+
+    private static final class CachedCode {
+        private final String code;
+        private final long storedAt;
+
+        private CachedCode(String code, long storedAt) {
+            this.code = code;
+            this.storedAt = storedAt;
+        }
+    }
+}
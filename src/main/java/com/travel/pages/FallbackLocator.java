@@ -0,0 +1,117 @@
+package com.travel.pages;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsDriver;
+
+/**
+ * Locator made of ordered alternatives, e.g. several CSS selectors for the same field across site builds.
+ *
+ * Alternatives are tried in the order learned by {@link LocatorCache}: the one that matched last time on the
+ * current page version goes first, and the browser stops at the first alternative that matches, all inside a
+ * single script call. Alternatives prefixed with {@code xpath:} are evaluated as XPath, everything else as CSS.
+ */
+public final class FallbackLocator extends By {
+    private static final String FIND_SCRIPT =
+        "var root = arguments[0] || document, selectors = arguments[1], order = arguments[2];" +
+        "for (var i = 0; i < order.length; i++) {" +
+        "   var selector = selectors[order[i]], found = [];" +
+        "   if (selector.indexOf('xpath:') === 0) {" +
+        "       var result = document.evaluate(selector.substring(6), root, null," +
+        "           XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);" +
+        "       for (var j = 0; j < result.snapshotLength; j++) {" +
+        "           found.push(result.snapshotItem(j));" +
+        "       }" +
+        "   } else {" +
+        "       found = Array.prototype.slice.call(root.querySelectorAll(selector));" +
+        "   }" +
+        "   if (found.length) {" +
+        "       return [order[i], found];" +
+        "   }" +
+        "}" +
+        "return [-1, []];";
+
+    private static final String XPATH_PREFIX = "xpath:";
+
+    private final String name;
+    private final List<String> alternatives;
+
+    private FallbackLocator(String name, List<String> alternatives) {
+        this.name = name;
+        this.alternatives = Collections.unmodifiableList(new ArrayList<>(alternatives));
+    }
+
+    /**
+     * Creates a locator from alternatives in their initial order of preference.
+     */
+    public static FallbackLocator of(String name, String... alternatives) {
+        return new FallbackLocator(name, Arrays.asList(alternatives));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public List<String> getAlternatives() {
+        return alternatives;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<WebElement> findElements(SearchContext context) {
+        LocatorCache.Entry entry = LocatorCache.entry(name, alternatives.size());
+        JavascriptExecutor js = executorFor(context);
+        if (js == null) {
+            return findOneByOne(context, entry);
+        }
+        WebElement root = context instanceof WebElement ? (WebElement) context : null;
+        List<?> result = (List<?>) js.executeScript(FIND_SCRIPT, root, alternatives, entry.order());
+        entry.record(((Number) result.get(0)).intValue());
+        return (List<WebElement>) result.get(1);
+    }
+
+    // Contexts without script access (e.g. shadow roots) fall back to one lookup per alternative
+    private List<WebElement> findOneByOne(SearchContext context, LocatorCache.Entry entry) {
+        for (int index : entry.order()) {
+            List<WebElement> found = context.findElements(toBy(alternatives.get(index)));
+            if (!found.isEmpty()) {
+                entry.record(index);
+                return found;
+            }
+        }
+        entry.record(-1);
+        return Collections.emptyList();
+    }
+
+    private static JavascriptExecutor executorFor(SearchContext context) {
+        if (context instanceof JavascriptExecutor) {
+            return (JavascriptExecutor) context;
+        }
+        if (context instanceof WrapsDriver) {
+            WebDriver wrapped = ((WrapsDriver) context).getWrappedDriver();
+            if (wrapped instanceof JavascriptExecutor) {
+                return (JavascriptExecutor) wrapped;
+            }
+        }
+        return null;
+    }
+
+    private static By toBy(String alternative) {
+        return alternative.startsWith(XPATH_PREFIX)
+            ? By.xpath(alternative.substring(XPATH_PREFIX.length()))
+            : By.cssSelector(alternative);
+    }
+
+    @Override
+    public String toString() {
+        return "By.fallback(" + name + "): " + alternatives;
+    }
+}
@@ -0,0 +1,43 @@
+package com.travel.pages;
+
+/**
+ * One flight option as shown on a search results card.
+ */
+public final class FlightRecord {
+    private final String airline;
+    private final String departure;
+    private final String duration;
+    private final int price;
+
+    public FlightRecord(String airline, String departure, String duration, int price) {
+        this.airline = airline;
+        this.departure = departure;
+        this.duration = duration;
+        this.price = price;
+    }
+
+    public String getAirline() {
+        return airline;
+    }
+
+    public String getDeparture() {
+        return departure;
+    }
+
+    public String getDuration() {
+        return duration;
+    }
+
+    /**
+     * Fare in whole rupees.
+     */
+    public int getPrice() {
+        return price;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Airline: %s | Departure: %s | Duration: %s | Price: Rs.%d",
+            airline, departure, duration, price);
+    }
+}
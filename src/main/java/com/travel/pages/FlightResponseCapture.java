@@ -0,0 +1,308 @@
+package com.travel.pages;
+
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.regex.Pattern;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonInput;
+import org.openqa.selenium.json.JsonType;
+
+import com.travel.utils.DevToolsSupport;
+
+/**
+ * Reads flight results from the site's search API responses instead of the rendered cards.
+ *
+ * Listens to CDP {@code Network.responseReceived} / {@code Network.loadingFinished} for XHR and fetch requests
+ * whose URL matches {@code -Dresults.api} (comma-separated globs, default {@code *}{@code /api/flights*,
+ * *search-stream*}). Finished bodies are fetched with {@code Network.getResponseBody} and walked with a
+ * streaming {@link JsonInput}: every JSON object that has an airline and a price field anywhere in the payload
+ * becomes one flight, de-duplicated by its id when it has one. Call {@link #reset()} before triggering a
+ * search so earlier responses are not mixed in.
+ */
+public final class FlightResponseCapture {
+    private static final Map<WebDriver, FlightResponseCapture> CAPTURES =
+        Collections.synchronizedMap(new WeakHashMap<>());
+    private static final Json JSON = new Json();
+
+    // Field names recognised in a flight object, compared lower-case
+    private static final Set<String> AIRLINE_KEYS = Set.of("airline", "airlinename", "carrier", "carriername");
+    private static final Set<String> PRICE_KEYS = Set.of("price", "fare", "totalfare", "totalprice", "amount");
+    private static final Set<String> AMOUNT_KEYS = Set.of("amount", "total", "value", "totalfare", "price");
+    private static final Set<String> DEPARTURE_KEYS = Set.of("departure", "departuretime", "deptime", "depart");
+    private static final Set<String> DURATION_KEYS = Set.of("duration", "durationtext", "totalduration");
+    private static final Set<String> ID_KEYS = Set.of("id", "flightid", "key");
+
+    private final DevTools devTools;
+    private final List<Pattern> apiPatterns = new ArrayList<>();
+    // requestId -> URL of matching responses whose body has not finished loading yet
+    private final Map<String, String> inFlight = new LinkedHashMap<>();
+    private final List<String> finished = new ArrayList<>();
+    private final Set<String> seenIds = new HashSet<>();
+    private FlightResults results;
+    private int responsesParsed;
+
+    private FlightResponseCapture(DevTools devTools) {
+        this.devTools = devTools;
+        for (String glob : System.getProperty("results.api", "*/api/flights*,*search-stream*").split(",")) {
+            if (!glob.trim().isEmpty()) {
+                apiPatterns.add(Pattern.compile(Pattern.quote(glob.trim()).replace("*", "\\E.*\\Q")));
+            }
+        }
+    }
+
+    /**
+     * Returns the capture listening on a driver, installing it on first use. The capture is inactive when the
+     * browser has no DevTools.
+     */
+    public static FlightResponseCapture attach(WebDriver driver) {
+        synchronized (CAPTURES) {
+            FlightResponseCapture existing = CAPTURES.get(driver);
+            if (existing != null) {
+                return existing;
+            }
+            FlightResponseCapture capture = new FlightResponseCapture(install(driver).orElse(null)).listen();
+            CAPTURES.put(driver, capture);
+            return capture;
+        }
+    }
+
+    private static Optional<DevTools> install(WebDriver driver) {
+        Optional<DevTools> session = DevToolsSupport.session(driver);
+        if (!session.isPresent()) {
+            System.out.println("Warning: Network result capture needs Chrome DevTools, reading results from the page");
+        }
+        return session;
+    }
+
+    private FlightResponseCapture listen() {
+        if (devTools == null) {
+            return this;
+        }
+        try {
+            devTools.addListener(DevToolsSupport.event("Network.responseReceived"), this::onResponse);
+            devTools.addListener(DevToolsSupport.event("Network.loadingFinished"), this::onLoadingFinished);
+            devTools.addListener(DevToolsSupport.event("Network.loadingFailed"), this::onLoadingFailed);
+            DevToolsSupport.send(devTools, "Network.enable", Map.of());
+        } catch (Exception e) {
+            System.out.println("Warning: Could not install network result capture: " + e.getMessage());
+        }
+        return this;
+    }
+
+    public boolean isActive() {
+        return devTools != null;
+    }
+
+    /**
+     * Forgets every captured response; call right before the search is triggered.
+     */
+    public synchronized void reset() {
+        inFlight.clear();
+        finished.clear();
+        seenIds.clear();
+        results = null;
+        responsesParsed = 0;
+    }
+
+    /**
+     * Waits up to {@code timeout} until at least one matching response has finished and none is still loading,
+     * then returns the flights of every response captured since {@link #reset()}. Returns null when nothing
+     * was captured, so callers can fall back to reading the page.
+     */
+    public FlightResults await(LocalDate travelDate, Duration timeout) {
+        if (devTools == null) {
+            return null;
+        }
+        List<String> ready;
+        synchronized (this) {
+            long deadline = System.nanoTime() + timeout.toNanos();
+            while (finished.isEmpty() || !inFlight.isEmpty()) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    break;
+                }
+                try {
+                    wait(Math.max(1, remaining / 1_000_000));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+            if (results == null) {
+                results = new FlightResults(travelDate, 64);
+            }
+            ready = new ArrayList<>(finished);
+            finished.clear();
+        }
+
+        for (String requestId : ready) {
+            try {
+                Map<String, Object> response = DevToolsSupport.send(devTools, "Network.getResponseBody",
+                    Map.of("requestId", requestId));
+                String body = String.valueOf(response.get("body"));
+                if (Boolean.TRUE.equals(response.get("base64Encoded"))) {
+                    body = new String(Base64.getDecoder().decode(body), StandardCharsets.UTF_8);
+                }
+                synchronized (this) {
+                    parse(body);
+                    responsesParsed++;
+                }
+            } catch (RuntimeException e) {
+                System.out.println("Warning: Could not read captured response " + requestId + ": " + e.getMessage());
+            }
+        }
+        synchronized (this) {
+            return responsesParsed == 0 ? null : results;
+        }
+    }
+
+    private synchronized void onResponse(Map<String, Object> event) {
+        String type = String.valueOf(event.get("type"));
+        Map<?, ?> response = (Map<?, ?>) event.get("response");
+        if (response == null || !("XHR".equals(type) || "Fetch".equals(type))) {
+            return;
+        }
+        String url = String.valueOf(response.get("url"));
+        Object status = response.get("status");
+        if (status instanceof Number && ((Number) status).intValue() == 200 && matches(url)) {
+            inFlight.put(String.valueOf(event.get("requestId")), url);
+        }
+    }
+
+    private synchronized void onLoadingFinished(Map<String, Object> event) {
+        String requestId = String.valueOf(event.get("requestId"));
+        if (inFlight.remove(requestId) != null) {
+            finished.add(requestId);
+            notifyAll();
+        }
+    }
+
+    private synchronized void onLoadingFailed(Map<String, Object> event) {
+        if (inFlight.remove(String.valueOf(event.get("requestId"))) != null) {
+            notifyAll();
+        }
+    }
+
+    private boolean matches(String url) {
+        for (Pattern pattern : apiPatterns) {
+            if (pattern.matcher(url).matches()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void parse(String body) {
+        try (JsonInput input = JSON.newInput(new StringReader(body))) {
+            readValue(input);
+        } catch (RuntimeException e) {
+            System.out.println("Warning: Captured response is not flight JSON: "
+                + String.valueOf(e.getMessage()).split("\n")[0]);
+        }
+    }
+
+    private void readValue(JsonInput input) {
+        JsonType type = input.peek();
+        if (type == JsonType.START_MAP) {
+            readObject(input);
+        } else if (type == JsonType.START_COLLECTION) {
+            input.beginArray();
+            while (input.hasNext()) {
+                readValue(input);
+            }
+            input.endArray();
+        } else {
+            input.skipValue();
+        }
+    }
+
+    // Reads one object, recursing into nested values; emits a flight when it has an airline and a price
+    private void readObject(JsonInput input) {
+        String id = null;
+        String airline = null;
+        String departure = null;
+        String duration = null;
+        int price = -1;
+
+        input.beginObject();
+        while (input.hasNext()) {
+            String key = input.nextName().toLowerCase(Locale.ROOT);
+            JsonType type = input.peek();
+            if (type == JsonType.START_MAP && PRICE_KEYS.contains(key)) {
+                price = readAmount(input);
+            } else if (type == JsonType.START_MAP || type == JsonType.START_COLLECTION) {
+                readValue(input);
+            } else {
+                String value = readScalar(input, type);
+                if (value == null) {
+                    continue;
+                }
+                if (AIRLINE_KEYS.contains(key)) {
+                    airline = value;
+                } else if (PRICE_KEYS.contains(key) && price < 0) {
+                    price = FlightResults.parsePrice(value);
+                } else if (DEPARTURE_KEYS.contains(key)) {
+                    // ISO date-times carry the clock time after the 'T'
+                    departure = value.indexOf('T') >= 0 ? value.substring(value.indexOf('T') + 1) : value;
+                } else if (DURATION_KEYS.contains(key)) {
+                    duration = type == JsonType.NUMBER ? value + "m" : value;
+                } else if (ID_KEYS.contains(key)) {
+                    id = value;
+                }
+            }
+        }
+        input.endObject();
+
+        if (airline != null && price >= 0 && (id == null || seenIds.add(id))) {
+            results.add(airline, departure, duration, price);
+        }
+    }
+
+    // A price object such as {"amount": 5432, "currency": "INR"}
+    private int readAmount(JsonInput input) {
+        int amount = -1;
+        input.beginObject();
+        while (input.hasNext()) {
+            String key = input.nextName().toLowerCase(Locale.ROOT);
+            JsonType type = input.peek();
+            if (AMOUNT_KEYS.contains(key) && (type == JsonType.NUMBER || type == JsonType.STRING) && amount < 0) {
+                amount = FlightResults.parsePrice(readScalar(input, type));
+            } else {
+                input.skipValue();
+            }
+        }
+        input.endObject();
+        return amount;
+    }
+
+    private static String readScalar(JsonInput input, JsonType type) {
+        switch (type) {
+            case STRING:
+                return input.nextString();
+            case NUMBER:
+                // Fares and minutes are whole numbers; 5432.5 rounds rather than reading as 54325
+                return Long.toString(Math.round(input.nextNumber().doubleValue()));
+            case BOOLEAN:
+                return Boolean.toString(input.nextBoolean());
+            default:
+                input.skipValue();
+                return null;
+        }
+    }
+}
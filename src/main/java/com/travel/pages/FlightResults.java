@@ -0,0 +1,336 @@
+package com.travel.pages;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A results listing held column-wise in primitive arrays: fare in rupees, departure as an epoch minute and
+ * duration in minutes per flight, with the airline as the only object column.
+ *
+ * Rows are appended straight from the card text with the allocation-free parsers below, and
+ * {@link #cheapest(int)} picks the N cheapest rows with a bounded heap of row indexes instead of sorting the
+ * listing. Departures are counted from the travel date; when it is unknown, from {@link LocalDate#EPOCH}, so
+ * the value is then simply minutes after midnight. A departure or duration the parsers give up on keeps its raw
+ * text, so {@link #record(int)} can still show it.
+ */
+public final class FlightResults {
+    /**
+     * Value stored for a departure or duration that could not be parsed.
+     */
+    public static final int UNKNOWN = -1;
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    private final LocalDate travelDate;
+    private final int dayStartMinute;
+    private String[] airlines;
+    private int[] prices;
+    private int[] departures;
+    private int[] durations;
+    // Raw card text, kept only for rows whose departure or duration did not parse
+    private String[] rawDepartures;
+    private String[] rawDurations;
+    private int size;
+
+    public FlightResults(LocalDate travelDate, int expectedFlights) {
+        this.travelDate = travelDate;
+        this.dayStartMinute = travelDate == null ? 0 : Math.toIntExact(travelDate.toEpochDay() * MINUTES_PER_DAY);
+        int capacity = Math.max(16, expectedFlights);
+        airlines = new String[capacity];
+        prices = new int[capacity];
+        departures = new int[capacity];
+        durations = new int[capacity];
+        rawDepartures = new String[capacity];
+        rawDurations = new String[capacity];
+    }
+
+    /**
+     * Copies already built records into a column-wise listing.
+     */
+    public static FlightResults of(LocalDate travelDate, List<FlightRecord> flights) {
+        FlightResults results = new FlightResults(travelDate, flights.size());
+        for (FlightRecord flight : flights) {
+            results.add(flight.getAirline(), flight.getDeparture(), flight.getDuration(), flight.getPrice());
+        }
+        return results;
+    }
+
+    /**
+     * Adds one card from its raw text. Returns false, and adds nothing, when the price text has no digits.
+     */
+    public boolean add(String airline, CharSequence departure, CharSequence duration, CharSequence priceText) {
+        int price = parsePrice(priceText);
+        if (price < 0) {
+            return false;
+        }
+        add(airline, departure, duration, price);
+        return true;
+    }
+
+    public void add(String airline, CharSequence departure, CharSequence duration, int price) {
+        if (size == prices.length) {
+            int capacity = size * 2;
+            airlines = Arrays.copyOf(airlines, capacity);
+            prices = Arrays.copyOf(prices, capacity);
+            departures = Arrays.copyOf(departures, capacity);
+            durations = Arrays.copyOf(durations, capacity);
+            rawDepartures = Arrays.copyOf(rawDepartures, capacity);
+            rawDurations = Arrays.copyOf(rawDurations, capacity);
+        }
+        int clock = parseClockMinutes(departure);
+        int minutes = parseDurationMinutes(duration);
+        airlines[size] = airline;
+        prices[size] = price;
+        departures[size] = clock == UNKNOWN ? UNKNOWN : dayStartMinute + clock;
+        durations[size] = minutes;
+        rawDepartures[size] = clock == UNKNOWN ? rawText(departure) : null;
+        rawDurations[size] = minutes == UNKNOWN ? rawText(duration) : null;
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public LocalDate getTravelDate() {
+        return travelDate;
+    }
+
+    public String airline(int row) {
+        return airlines[checkRow(row)];
+    }
+
+    /**
+     * Fare in whole rupees.
+     */
+    public int price(int row) {
+        return prices[checkRow(row)];
+    }
+
+    /**
+     * Departure in minutes since the epoch, or {@link #UNKNOWN}.
+     */
+    public int departureEpochMinute(int row) {
+        return departures[checkRow(row)];
+    }
+
+    /**
+     * Departure in minutes after midnight, or {@link #UNKNOWN}.
+     */
+    public int departureMinuteOfDay(int row) {
+        int departure = departures[checkRow(row)];
+        return departure == UNKNOWN ? UNKNOWN : departure - dayStartMinute;
+    }
+
+    /**
+     * Duration in minutes, or {@link #UNKNOWN}.
+     */
+    public int durationMinutes(int row) {
+        return durations[checkRow(row)];
+    }
+
+    /**
+     * Rows of the {@code count} cheapest flights, cheapest first. Keeps a max-heap of at most {@code count}
+     * row indexes, so a full listing costs O(n log count) and allocates only the result.
+     */
+    public int[] cheapest(int count) {
+        int k = Math.min(count, size);
+        if (k <= 0) {
+            return new int[0];
+        }
+        // heap[0] is the most expensive of the cheapest rows seen so far
+        int[] heap = new int[k];
+        int heapSize = 0;
+        for (int row = 0; row < size; row++) {
+            if (heapSize < k) {
+                heap[heapSize] = row;
+                siftUp(heap, heapSize++);
+            } else if (prices[row] < prices[heap[0]]) {
+                heap[0] = row;
+                siftDown(heap, heapSize);
+            }
+        }
+        // Pop the largest to the end until the heap is empty: ascending order, in place
+        for (int end = k - 1; end > 0; end--) {
+            int top = heap[0];
+            heap[0] = heap[end];
+            heap[end] = top;
+            siftDown(heap, end);
+        }
+        return heap;
+    }
+
+    /**
+     * One row as a {@link FlightRecord}, with departure and duration formatted as {@code HH:mm} and
+     * {@code 2h 05m}, or as the card showed them when they could not be parsed.
+     */
+    public FlightRecord record(int row) {
+        int departure = departureMinuteOfDay(row);
+        int duration = durations[row];
+        return new FlightRecord(airlines[row],
+            departure == UNKNOWN ? rawDepartures[row]
+                : String.format("%02d:%02d", departure / 60, departure % 60),
+            duration == UNKNOWN ? rawDurations[row] : String.format("%dh %02dm", duration / 60, duration % 60),
+            prices[row]);
+    }
+
+    public List<FlightRecord> toRecords() {
+        List<FlightRecord> records = new ArrayList<>(size);
+        for (int row = 0; row < size; row++) {
+            records.add(record(row));
+        }
+        return records;
+    }
+
+    /**
+     * Digits of a fare such as {@code "₹ 5,432"} as an int, or -1 when there are none. Paise after a decimal
+     * point are dropped, so {@code "Rs. 5,432.50"} is 5432; a point before the first digit is not a decimal
+     * point.
+     */
+    public static int parsePrice(CharSequence text) {
+        if (text == null) {
+            return -1;
+        }
+        long value = 0;
+        boolean digits = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                value = value * 10 + (c - '0');
+                digits = true;
+                if (value > Integer.MAX_VALUE) {
+                    return -1;
+                }
+            } else if (c == '.' && digits) {
+                break;
+            }
+        }
+        return digits ? (int) value : -1;
+    }
+
+    /**
+     * A clock time such as {@code "07:45"} or {@code "7:45 PM"} as minutes after midnight, or {@link #UNKNOWN}.
+     */
+    public static int parseClockMinutes(CharSequence text) {
+        if (text == null) {
+            return UNKNOWN;
+        }
+        int length = text.length();
+        int i = 0;
+        while (i < length && !isDigit(text.charAt(i))) {
+            i++;
+        }
+        int hours = 0;
+        int hourDigits = 0;
+        while (i < length && isDigit(text.charAt(i)) && hourDigits < 2) {
+            hours = hours * 10 + (text.charAt(i++) - '0');
+            hourDigits++;
+        }
+        if (hourDigits == 0 || i >= length || text.charAt(i) != ':') {
+            return UNKNOWN;
+        }
+        i++;
+        if (i + 2 > length || !isDigit(text.charAt(i)) || !isDigit(text.charAt(i + 1))) {
+            return UNKNOWN;
+        }
+        int minutes = (text.charAt(i) - '0') * 10 + (text.charAt(i + 1) - '0');
+        i += 2;
+        while (i < length && text.charAt(i) == ' ') {
+            i++;
+        }
+        if (i < length) {
+            char meridiem = Character.toUpperCase(text.charAt(i));
+            if (meridiem == 'P' && hours < 12) {
+                hours += 12;
+            } else if (meridiem == 'A' && hours == 12) {
+                hours = 0;
+            }
+        }
+        if (hours > 23 || minutes > 59) {
+            return UNKNOWN;
+        }
+        return hours * 60 + minutes;
+    }
+
+    /**
+     * A duration such as {@code "2h 15m"}, {@code "02 h 05 m"} or {@code "45m"} in minutes, or
+     * {@link #UNKNOWN}. An {@code h} or {@code m} only counts after a number, so words are not durations.
+     */
+    public static int parseDurationMinutes(CharSequence text) {
+        if (text == null) {
+            return UNKNOWN;
+        }
+        int minutes = 0;
+        int value = 0;
+        boolean digits = false;
+        boolean seen = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (isDigit(c)) {
+                value = value * 10 + (c - '0');
+                digits = true;
+            } else if (digits && (c == 'h' || c == 'H')) {
+                minutes += value * 60;
+                value = 0;
+                digits = false;
+                seen = true;
+            } else if (digits && (c == 'm' || c == 'M')) {
+                minutes += value;
+                value = 0;
+                digits = false;
+                seen = true;
+            }
+        }
+        return seen ? minutes : UNKNOWN;
+    }
+
+    private static String rawText(CharSequence text) {
+        return text == null ? "" : text.toString();
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private int checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + " of " + size);
+        }
+        return row;
+    }
+
+    private void siftUp(int[] heap, int index) {
+        int row = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (prices[heap[parent]] >= prices[row]) {
+                break;
+            }
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = row;
+    }
+
+    private void siftDown(int[] heap, int heapSize) {
+        int index = 0;
+        int row = heap[0];
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= heapSize) {
+                break;
+            }
+            if (child + 1 < heapSize && prices[heap[child + 1]] > prices[heap[child]]) {
+                child++;
+            }
+            if (prices[heap[child]] <= prices[row]) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = row;
+    }
+}
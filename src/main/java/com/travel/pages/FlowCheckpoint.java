@@ -0,0 +1,36 @@
+package com.travel.pages;
+
+/**
+ * The last {@link HomePage} step that completed and the page it left the browser on.
+ *
+ * Resumable checkpoints are pages that can be reopened from their URL alone (the results listing); the search
+ * form keeps its state in the page, so form steps are recorded but cannot be resumed.
+ */
+public final class FlowCheckpoint {
+    private final String step;
+    private final String url;
+    private final boolean resumable;
+
+    FlowCheckpoint(String step, String url, boolean resumable) {
+        this.step = step;
+        this.url = url;
+        this.resumable = resumable;
+    }
+
+    public String getStep() {
+        return step;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public boolean isResumable() {
+        return resumable;
+    }
+
+    @Override
+    public String toString() {
+        return step + " @ " + url + (resumable ? "" : " (not resumable)");
+    }
+}
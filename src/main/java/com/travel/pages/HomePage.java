@@ -2,48 +2,307 @@ package com.travel.pages;
 
 import org.openqa.selenium.By;
 import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.openqa.selenium.Keys;
 
+import com.travel.compare.ComparisonProvider;
+import com.travel.compare.PriceComparison;
+import com.travel.compare.PriceTable;
+import com.travel.store.FlightPriceStore;
+import com.travel.utils.ActionTimeline;
+import com.travel.utils.OverlaySuppressor;
+import com.travel.utils.SiteConfig;
+
 import java.time.Duration;
 
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class HomePage extends BasePage {
+    // Result card selectors, shared by the By locators and the in-browser extraction script
+    private static final String FLIGHT_CARD_CSS = "div[class*='listingCard']";
+    private static final String FLIGHT_PRICE_CSS = "div[class*='priceSection'] p";
+    private static final String FLIGHT_DETAILS_CSS = "p[class*='airline']";
+    private static final String LOADING_CSS = "div[class*='loading']";
+
+    /**
+     * Reads every result card in a single round trip. Returns one [airline, departure, duration, price text]
+     * row per card; the details paragraph holds airline, departure and duration on separate lines.
+     */
+    private static final String EXTRACT_FLIGHTS_SCRIPT =
+        "var cardCss = arguments[0], priceCss = arguments[1], detailsCss = arguments[2];" +
+        "var rows = [];" +
+        "document.querySelectorAll(cardCss).forEach(function(card) {" +
+        "   var details = card.querySelector(detailsCss);" +
+        "   var price = card.querySelector(priceCss);" +
+        "   var lines = details ? details.innerText.split('\\n') : [];" +
+        "   rows.push([lines[0] || '', lines[1] || '', lines[2] || '', price ? price.innerText : '']);" +
+        "});" +
+        "return rows;";
+
+    /**
+     * Extraction script for background tabs: returns null while the results page is still loading, so one call
+     * both checks readiness and reads the cards.
+     */
+    private static final String TAB_RESULTS_SCRIPT =
+        "if (document.readyState !== 'complete' || !document.querySelector(arguments[0])) { return null; }" +
+        "var loading = document.querySelector(\"div[class*='loading']\");" +
+        "if (loading && loading.offsetParent !== null) { return null; }" +
+        EXTRACT_FLIGHTS_SCRIPT;
+
+    /**
+     * Incremental variant of the extraction script used while scrolling. Only cards not yet tagged for this
+     * stream are read, and a card is tagged only once its price has rendered, so skeleton cards are read again
+     * on the next pass. The tag on the card itself marks it as emitted; two flights with the same visible text
+     * are still two cards. Scrolls to the bottom afterwards to trigger the next lazy-loaded page and returns
+     * [rows, scrollHeight].
+     */
+    private static final String STREAM_FLIGHTS_SCRIPT =
+        "var cardCss = arguments[0], priceCss = arguments[1], detailsCss = arguments[2], token = arguments[3];" +
+        "var rows = [];" +
+        "document.querySelectorAll(cardCss + ':not([data-travel-stream=\"' + token + '\"])')" +
+        "       .forEach(function(card) {" +
+        "   var price = card.querySelector(priceCss);" +
+        "   var priceText = price ? price.innerText.trim() : '';" +
+        "   if (!priceText) { return; }" +
+        "   card.setAttribute('data-travel-stream', token);" +
+        "   var details = card.querySelector(detailsCss);" +
+        "   var lines = details ? details.innerText.split('\\n') : [];" +
+        "   rows.push([lines[0] || '', lines[1] || '', lines[2] || '', priceText]);" +
+        "});" +
+        "window.scrollTo(0, document.body.scrollHeight);" +
+        "return [rows, document.body.scrollHeight];";
+
+    /**
+     * Run right before a sort or filter click: tags the current cards as stale, remembers the first one and
+     * records when the page's DOM last changed, for {@link #AWAIT_LISTING_REFRESH_SCRIPT}.
+     */
+    private static final String MARK_LISTING_SCRIPT =
+        "var cards = document.querySelectorAll(arguments[0]);" +
+        "cards.forEach(function(card) { card.setAttribute('data-travel-stale', '1'); });" +
+        "var state = window.__travelListing = {first: cards[0] || null, changedAt: Date.now()};" +
+        "if (window.__travelListingObserver) { window.__travelListingObserver.disconnect(); }" +
+        "window.__travelListingObserver = new MutationObserver(function() { state.changedAt = Date.now(); });" +
+        "window.__travelListingObserver.observe(document.body, {childList: true, subtree: true});";
+
+    /**
+     * Async: calls back [refreshed, loading, fresh card, reordered] once the loader is gone and the listing has
+     * been replaced (a card without the stale tag), reordered in place (a different first card) or has stayed
+     * unchanged for arguments[2] ms, e.g. a client-side sort of an already sorted listing; or after
+     * arguments[3] ms.
+     */
+    private static final String AWAIT_LISTING_REFRESH_SCRIPT =
+        "var cardCss = arguments[0], loadingCss = arguments[1], quietMs = arguments[2];" +
+        "var deadline = Date.now() + arguments[3];" +
+        "var done = arguments[arguments.length - 1];" +
+        "var state = window.__travelListing;" +
+        "(function check() {" +
+        "   var loader = document.querySelector(loadingCss);" +
+        "   var loading = !!loader && loader.offsetParent !== null;" +
+        "   var first = document.querySelector(cardCss);" +
+        "   var fresh = !!document.querySelector(cardCss + ':not([data-travel-stale])');" +
+        "   var reordered = !state || first !== state.first;" +
+        "   var quiet = !!state && Date.now() - state.changedAt >= quietMs;" +
+        "   var refreshed = !loading && (first ? fresh || reordered || quiet : quiet);" +
+        "   if (refreshed || Date.now() >= deadline) {" +
+        "       done([refreshed, loading, fresh, reordered]);" +
+        "   } else {" +
+        "       setTimeout(check, 50);" +
+        "   }" +
+        "})();";
+
+    // Scroll steps without new cards or page growth before a stream treats the listing as exhausted
+    private static final int MAX_IDLE_SCROLLS = 2;
+    private static final DateTimeFormatter ITINERARY_DATE = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    private static final Pattern ITINERARY_PATTERN = Pattern.compile(
+        "itinerary=([A-Z]{3})-([A-Z]{3})-(\\d{2}/\\d{2}/\\d{4})");
+    // Codes for common cities, so direct searches work before the form has cached them
+    private static final Map<String, String> AIRPORT_CODES = Map.ofEntries(
+        Map.entry("delhi", "DEL"), Map.entry("new delhi", "DEL"), Map.entry("mumbai", "BOM"),
+        Map.entry("bengaluru", "BLR"), Map.entry("bangalore", "BLR"), Map.entry("goa", "GOI"),
+        Map.entry("chennai", "MAA"), Map.entry("kolkata", "CCU"), Map.entry("hyderabad", "HYD"),
+        Map.entry("pune", "PNQ"), Map.entry("jaipur", "JAI"), Map.entry("ahmedabad", "AMD"),
+        Map.entry("kochi", "COK"), Map.entry("lucknow", "LKO"));
+
+    // Calendar day cells are labelled like "7 November 2026"
+    private static final DateTimeFormatter CALENDAR_LABEL = DateTimeFormatter.ofPattern("d MMMM yyyy", Locale.ENGLISH);
+    private static final String CALENDAR_DAY_CSS = "div[class*='DayPicker-Day']";
+    private static final String NEXT_MONTH_CSS = "[aria-label='Next Month']";
+    private static final String PREVIOUS_MONTH_CSS = "[aria-label='Previous Month']";
+    // How long a month page may take to re-render after clicking Next/Previous Month
+    private static final Duration CALENDAR_PAGE_SETTLE = Duration.ofSeconds(2);
+    // How long waitForFlightResults waits for the search API payload before falling back to the cards
+    private static final Duration NETWORK_RESULTS_TIMEOUT = Duration.ofSeconds(15);
+    // A listing unchanged this long after a sort or filter click counts as already in its new order
+    private static final Duration LISTING_QUIET_PERIOD = Duration.ofSeconds(1);
+    private static final Duration LISTING_REFRESH_TIMEOUT = Duration.ofSeconds(15);
+
+    /**
+     * Shared by the calendar scripts. Arguments: [1] day cell css, [2] next month css, [3] max pages,
+     * [4] settle ms, last the async callback. {@code page} clicks a month button and calls back once the
+     * first day label changes (or the settle time runs out).
+     */
+    private static final String CALENDAR_HELPERS =
+        "var dayCss = arguments[1], nextCss = arguments[2], maxPages = arguments[3], settleMs = arguments[4];" +
+        "var done = arguments[arguments.length - 1];" +
+        "var pages = 0;" +
+        "function cell(label) { return document.querySelector(dayCss + \"[aria-label='\" + label + \"']\"); }" +
+        "function enabled(c) {" +
+        "   return !!c && String(c.className).indexOf('disabled') < 0 && c.getAttribute('aria-disabled') !== 'true';" +
+        "}" +
+        "function firstLabel() {" +
+        "   var c = document.querySelector(dayCss + '[aria-label]');" +
+        "   return c ? c.getAttribute('aria-label') : null;" +
+        "}" +
+        "function settle(before, started, then) {" +
+        "   if (firstLabel() !== before || Date.now() - started > settleMs) { then(true); }" +
+        "   else { setTimeout(function() { settle(before, started, then); }, 16); }" +
+        "}" +
+        "function page(navCss, then) {" +
+        "   var nav = document.querySelector(navCss);" +
+        "   if (!nav) { then(false); return; }" +
+        "   var before = firstLabel();" +
+        "   nav.click();" +
+        "   settle(before, Date.now(), then);" +
+        "}";
+
+    /**
+     * Selects the first enabled day among the labels in arguments[0] (in order of preference), paging
+     * forward at most arguments[3] months until one is rendered. Returns [selected label or null, pages].
+     */
+    private static final String SELECT_DATE_SCRIPT = CALENDAR_HELPERS +
+        "var labels = arguments[0];" +
+        "function attempt() {" +
+        "   for (var i = 0; i < labels.length; i++) {" +
+        "       var c = cell(labels[i]);" +
+        "       if (enabled(c)) {" +
+        "           c.scrollIntoView({block: 'center', inline: 'center'});" +
+        "           c.click();" +
+        "           done([labels[i], pages]);" +
+        "           return;" +
+        "       }" +
+        "   }" +
+        "   if (pages >= maxPages) { done([null, pages]); return; }" +
+        "   pages++;" +
+        "   page(nextCss, function(moved) { if (moved) { attempt(); } else { done([null, pages]); } });" +
+        "}" +
+        "settle(null, Date.now(), attempt);";
+
+    /**
+     * Collects every enabled day among the ascending labels in arguments[0], paging forward until the last
+     * one is rendered (at most arguments[3] months), then pages back to where it started.
+     * Returns [enabled labels, pages scanned].
+     */
+    private static final String SCAN_DATES_SCRIPT = CALENDAR_HELPERS +
+        "var labels = arguments[0], previousCss = arguments[5], found = {}, scanned = 0;" +
+        "function scan() {" +
+        "   labels.forEach(function(label) { if (enabled(cell(label))) { found[label] = true; } });" +
+        "   if (cell(labels[labels.length - 1]) || pages >= maxPages) { rewind(); return; }" +
+        "   pages++;" +
+        "   scanned++;" +
+        "   page(nextCss, function(moved) { if (moved) { scan(); } else { rewind(); } });" +
+        "}" +
+        "function rewind() {" +
+        "   if (pages === 0) { finish(); return; }" +
+        "   pages--;" +
+        "   page(previousCss, function(moved) { if (moved) { rewind(); } else { finish(); } });" +
+        "}" +
+        "function finish() { done([labels.filter(function(label) { return found[label]; }), scanned]); }" +
+        "settle(null, Date.now(), scan);";
+
+    /**
+     * Finds a visible autosuggest entry, by airport code when one is given (arguments[1]) or else by city name
+     * (arguments[0]). Returns [entry, its airport code or null], or null while no entry matches. The code comes
+     * from a data attribute or from a three-letter code shown in the entry.
+     */
+    private static final String SUGGESTION_SCRIPT =
+        "var city = arguments[0].toLowerCase();" +
+        "var code = arguments[1];" +
+        "var items = document.querySelectorAll(\"li[class*='react-autosuggest__suggestion'], li[role='option']\");" +
+        "for (var i = 0; i < items.length; i++) {" +
+        "   var item = items[i];" +
+        "   if (item.getClientRects().length === 0) { continue; }" +
+        "   var itemCode = item.getAttribute('data-code') || item.getAttribute('data-iata');" +
+        "   if (!itemCode) {" +
+        "       var leaves = item.querySelectorAll('*');" +
+        "       for (var j = 0; j < leaves.length && !itemCode; j++) {" +
+        "           var text = leaves[j].children.length === 0 ? leaves[j].textContent.trim() : '';" +
+        "           if (/^[A-Z]{3}$/.test(text)) { itemCode = text; }" +
+        "       }" +
+        "   }" +
+        "   if (code ? itemCode === code : item.textContent.toLowerCase().indexOf(city) >= 0) {" +
+        "       return [item, itemCode || null];" +
+        "   }" +
+        "}" +
+        "return null;";
+    // A cached code that is still valid shows up almost immediately
+    private static final Duration CACHED_SUGGESTION_TIMEOUT = Duration.ofSeconds(5);
+
     // Locators
+    // Locators with several possible selectors are FallbackLocators: the alternative that matched last time
+    // on this site build is tried first (see LocatorCache)
     // Primary navigation and widget locators
-    private final By flightSearchWidget = By.cssSelector("[class*='fsw_inputBox'], [class*='fsw-inputBox']");
-    private final By flightsTab = By.cssSelector("[class*='navigation'] [class*='flight'], [data-cy*='flight']");
-    private final By flightMenu = By.cssSelector("[class*='menu_Flights'], [class*='navFlight']");
-    
+    private final By flightSearchWidget = FallbackLocator.of("flightSearchWidget",
+        "[class*='fsw_inputBox']", "[class*='fsw-inputBox']");
+    private final By flightsTab = FallbackLocator.of("flightsTab",
+        "[class*='navigation'] [class*='flight']", "[data-cy*='flight']");
+    // Any of the flights tab, flights menu or search widget shows the flights page has rendered
+    private final By flightPageMarker = FallbackLocator.of("flightPageMarker",
+        "[class*='navigation'] [class*='flight']", "[data-cy*='flight']",
+        "[class*='menu_Flights']", "[class*='navFlight']",
+        "[class*='fsw_inputBox']", "[class*='fsw-inputBox']");
+
     // Search form locators with multiple possible selectors
-    private final By fromCity = By.cssSelector("[data-cy='fromCity'], [for='fromCity'], [class*='from-city']");
-    private final By toCity = By.cssSelector("[data-cy='toCity'], [for='toCity'], [class*='to-city']");
-    private final By fromCityInput = By.cssSelector("[data-cy='fromCity'] input, input[placeholder*='From'], [class*='from-city'] input");
-    private final By toCityInput = By.cssSelector("[data-cy='toCity'] input, input[placeholder*='To'], [class*='to-city'] input");
-    
+    private final By fromCity = FallbackLocator.of("fromCity",
+        "[data-cy='fromCity']", "[for='fromCity']", "[class*='from-city']");
+    private final By toCity = FallbackLocator.of("toCity",
+        "[data-cy='toCity']", "[for='toCity']", "[class*='to-city']");
+    private final By fromCityInput = FallbackLocator.of("fromCityInput",
+        "[data-cy='fromCity'] input", "input[placeholder*='From']", "[class*='from-city'] input");
+    private final By toCityInput = FallbackLocator.of("toCityInput",
+        "[data-cy='toCity'] input", "input[placeholder*='To']", "[class*='to-city'] input");
+
     // Suggestion list locators with fallbacks
-    private final By searchSuggestion = By.cssSelector(".react-autosuggest__suggestions-list li, [class*='suggestion-list'] li");
-    private final By autoSuggestList = By.cssSelector(".react-autosuggest__suggestions-container--open, [class*='suggestion-container']");
+    private final By searchSuggestion = FallbackLocator.of("searchSuggestion",
+        ".react-autosuggest__suggestions-list li", "[class*='suggestion-list'] li");
+    private final By autoSuggestList = FallbackLocator.of("autoSuggestList",
+        ".react-autosuggest__suggestions-container--open", "[class*='suggestion-container']");
     private final By dateSelector = By.xpath("//div[contains(@class,'fsw_inputBox')]//label[@for='departure']");
-    private final By nextMonthButton = By.xpath("//span[@aria-label='Next Month']");
-    private final By calendarDays = By.xpath("//div[@class='DayPicker-Day' and not(contains(@class, 'disabled'))]");
-    private final By searchButton = By.cssSelector("[data-cy='searchButton'], [class*='search-button'], button[type='submit'], a[class*='search']");
+    private final By searchButton = FallbackLocator.of("searchButton",
+        "[data-cy='searchButton']", "[class*='search-button']", "button[type='submit']", "a[class*='search']");
     private final By modalClose = By.cssSelector("span[class*='modalClose']");
     private final By loginFrame = By.id("webklipper-publisher-widget-container-notification-frame");
-    private final By searchWidgetContainer = By.cssSelector("[class*='fsw'], [class*='flightSearchWidget']");
+    private final By searchWidgetContainer = FallbackLocator.of("searchWidgetContainer",
+        "[class*='fsw']", "[class*='flightSearchWidget']");
     private final By closeLoginPrompt = By.xpath("//a[@class='close']");
-    private final By flightResults = By.cssSelector("div[class*='listingCard']");
-    private final By flightPrice = By.cssSelector("div[class*='priceSection'] p");
-    private final By flightDetails = By.xpath("//div[contains(@class, 'listingCard')]//p[contains(@class, 'airline')]");
-    private final By loadingIndicator = By.cssSelector("div[class*='loading']");
+    private final By flightResults = By.cssSelector(FLIGHT_CARD_CSS);
+    private final By flightPrice = By.cssSelector(FLIGHT_PRICE_CSS);
+    private final By loadingIndicator = By.cssSelector(LOADING_CSS);
     
     // For filters
     private final By sortDropdown = By.cssSelector("span[class*='sortby']");
@@ -51,28 +310,41 @@ public class HomePage extends BasePage {
     private final By nonStopFilter = By.xpath("//span[text()='Non Stop']");
     private final By airlinesFilter = By.xpath("//span[text()='Airlines']");
 
+    private FlowCheckpoint lastCheckpoint;
+    // Set by sortByPrice and cleared by every new search; the results URL does not show the sort order
+    private boolean sortedByPrice;
+
+    // Search API responses seen by this driver; inactive without DevTools or with -Dresults.source=dom
+    private final FlightResponseCapture responseCapture;
+    // Set once a wait found no matching API response, so later waits go straight to the rendered cards
+    private boolean networkMissed;
+    // Tabs opened from this page, created on first use
+    private TabManager tabs;
+
     public HomePage(WebDriver driver) {
         super(driver);
+        responseCapture = "dom".equalsIgnoreCase(System.getProperty("results.source", "network"))
+            ? null : FlightResponseCapture.attach(driver);
     }
 
     public void navigateToFlights() {
-        try {
+        try (ActionTimeline.Span span = ActionTimeline.start("HomePage.navigateToFlights")) {
             // Initial page load wait
             waitForPageLoad();
-            
+
             // Handle any initial popups
             handlePopups();
-            
+
             // Try to click flights tab if it exists
             try {
                 if (driver.findElement(flightsTab).isDisplayed()) {
                     clickWithJavaScript(driver.findElement(flightsTab));
-                    Thread.sleep(2000);
+                    waitForPageReady();
                 }
             } catch (Exception ignored) {
                 // Flights tab might not be needed/present
             }
-            
+
             // Verify the flight search form is accessible
             boolean widgetFound = false;
             int attempts = 0;
@@ -88,25 +360,28 @@ public class HomePage extends BasePage {
                 } catch (Exception e) {
                     attempts++;
                     if (attempts == 3) {
-                        throw new RuntimeException("Could not access flight search functionality after multiple attempts");
+                        throw new RuntimeException(
+                            "Could not access flight search functionality after multiple attempts");
                     }
-                    // Clear any popups and retry
+                    // Clear any popups and retry once the page has settled
                     removeOverlays();
                     handlePopups();
-                    Thread.sleep(2000);
+                    waitForDomQuietQuietly();
                 }
             }
-            
+
             // Final overlay removal
             removeOverlays();
-            
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new RuntimeException("Navigation to flights was interrupted", e);
+
+            checkpoint("navigateToFlights", false);
         }
     }
 
     private void handlePopups() {
+        if (OverlaySuppressor.isInstalled(driver)) {
+            // The notification frame and modals are hidden as they are inserted
+            return;
+        }
         try {
             // Handle notification frame
             driver.switchTo().frame(driver.findElement(loginFrame));
@@ -131,7 +406,14 @@ public class HomePage extends BasePage {
         removeOverlays();
     }
     
-    private void removeOverlays() {
+    /**
+     * Sweeps known banners, overlays and high z-index layers out of the page. A no-op when
+     * {@link OverlaySuppressor} already hides them as they are inserted.
+     */
+    protected void removeOverlays() {
+        if (OverlaySuppressor.isInstalled(driver)) {
+            return;
+        }
         try {
             jsExecutor.executeScript(
                 "var removeElements = function(selector) {" +
@@ -151,88 +433,76 @@ public class HomePage extends BasePage {
                 "   }" +
                 "});"
             );
-            Thread.sleep(1000);
         } catch (Exception ignored) {
             // Script execution might fail
         }
     }
 
     private void waitForPageLoad() {
+        // Wait for the document, its network traffic and DOM to settle
         try {
-            // Initial wait for page load
-            Thread.sleep(5000);
-            
-            // Wait for document ready state with retry
-            int retries = 0;
-            while (retries < 3) {
-                try {
-                    wait.until(webDriver -> {
-                        String readyState = ((JavascriptExecutor) webDriver)
-                            .executeScript("return document.readyState").toString();
-                        String jQuery = ((JavascriptExecutor) webDriver)
-                            .executeScript("if (window.jQuery) return jQuery.active; else return -1").toString();
-                        return readyState.equals("complete") && (jQuery.equals("0") || jQuery.equals("-1"));
-                    });
-                    break;
-                } catch (Exception e) {
-                    retries++;
-                    if (retries == 3) throw e;
-                    Thread.sleep(2000);
-                }
-            }
+            waitForPageReady();
+        } catch (TimeoutException e) {
+            // Pages with long-polling widgets never go fully idle; a loaded document is enough to proceed
+            waitForDocumentLoaded();
+            System.out.println("Warning: Page did not go idle, continuing with loaded document...");
+        }
+        detectPageVersion();
 
-            // Try multiple ways to verify page is ready
-            try {
-                // Check if flights tab/section is present
-                wait.until(ExpectedConditions.or(
-                    ExpectedConditions.presenceOfElementLocated(flightsTab),
-                    ExpectedConditions.presenceOfElementLocated(flightMenu),
-                    ExpectedConditions.presenceOfElementLocated(flightSearchWidget)
-                ));
-            } catch (Exception e) {
-                System.out.println("Warning: Could not find standard flight elements, will continue...");
-            }
+        // Check if flights tab/section is present; one lookup covers every known marker
+        try {
+            wait.until(ExpectedConditions.presenceOfElementLocated(flightPageMarker));
+        } catch (Exception e) {
+            System.out.println("Warning: Could not find standard flight elements, will continue...");
+        }
 
-            // Ensure we're at the top of the page for better interaction
-            ((JavascriptExecutor) driver).executeScript("window.scrollTo(0, 0)");
-            Thread.sleep(1000);
+        // Ensure we're at the top of the page for better interaction
+        ((JavascriptExecutor) driver).executeScript("window.scrollTo(0, 0)");
 
-            // Remove potential blockers
-            removeOverlays();
-            
-            // Switch to default content and remove any remaining overlays
-            try {
-                driver.switchTo().defaultContent();
-                removeOverlays();
-            } catch (Exception ignored) {}
-            
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+        // Remove potential blockers from the top-level document
+        try {
+            driver.switchTo().defaultContent();
+        } catch (Exception ignored) {
+            // Already on the top-level document
         }
+        removeOverlays();
     }
 
-    public void enterSourceLocation(String source) {
+    // Readiness wait for steps that should not fail the test when the page keeps mutating
+    private void waitForDomQuietQuietly() {
         try {
+            waitForDomQuiet();
+        } catch (TimeoutException ignored) {
+            // Page kept changing; the caller's own element waits take over from here
+        }
+    }
+
+    public void enterSourceLocation(String source) {
+        try (ActionTimeline.Span span = ActionTimeline.start("HomePage.enterSourceLocation")) {
             // Ensure page is fully loaded and handle initial setup
             waitForPageLoad();
             handlePopups();
-            
-            // Extra wait to ensure all animations are complete
-            Thread.sleep(2000);
-            
+
+            // Let entrance animations finish before interacting with the form
+            try {
+                waitForAnimationsToFinish();
+            } catch (TimeoutException ignored) {
+                // Decorative animations may loop; the element stability wait below still applies
+            }
+
             // Try to find and interact with the search widget first
             WebElement searchWidget = wait.until(ExpectedConditions.presenceOfElementLocated(flightSearchWidget));
             jsExecutor.executeScript("arguments[0].scrollIntoView({block: 'center'});", searchWidget);
-            Thread.sleep(1000);
-            
+            waitForElementStable(searchWidget);
+
             // Ensure the from city field is visible and clickable
             WebElement fromCityElement = wait.until(ExpectedConditions.presenceOfElementLocated(fromCity));
             jsExecutor.executeScript("arguments[0].scrollIntoView({block: 'center'});", fromCityElement);
-            
+
             // Force remove any overlays before clicking
             removeOverlays();
-            Thread.sleep(1000);
-            
+            waitForElementStable(fromCityElement);
+
             // Try multiple click strategies
             try {
                 fromCityElement.click();
@@ -247,43 +517,33 @@ public class HomePage extends BasePage {
                     );
                 }
             }
-            Thread.sleep(2000);
-            
-            // Find and interact with the input field
-            WebElement input = waitForElementVisible(fromCityInput);
+
+            // Find and interact with the input field once it has opened
+            WebElement input = waitForElementStable(fromCityInput);
             scrollIntoView(input);
             clickWithJavaScript(input);
-            input.clear();
-            input.sendKeys(source);
-            Thread.sleep(2000);
-            
-            // Wait for suggestion list with increased timeout
-            wait.until(ExpectedConditions.presenceOfElementLocated(autoSuggestList));
-            wait.until(ExpectedConditions.visibilityOfElementLocated(autoSuggestList));
-            
-            // Find and click the first matching suggestion
-            By specificCity = By.xpath(String.format("//li[contains(@class, 'react-autosuggest__suggestion')]//p[contains(text(), '%s')]", source));
-            WebElement cityElement = wait.until(ExpectedConditions.elementToBeClickable(specificCity));
-            clickWithJavaScript(cityElement);
-            
-            Thread.sleep(1000);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+            selectCitySuggestion(input, source);
+
+            // Let the form apply the selection before moving on
+            waitForDomQuietQuietly();
+
+            checkpoint("enterSourceLocation", false);
         }
     }
 
     public void enterDestinationLocation(String destination) {
-        try {
+        try (ActionTimeline.Span span = ActionTimeline.start("HomePage.enterDestinationLocation")) {
             // Wait for source location interaction to complete
-            Thread.sleep(2000);
-            
+            waitForDomQuietQuietly();
+
             // Wait for To field to be ready
             WebElement toCityElement = waitForElementVisible(toCity);
-            
+
             // Scroll the element into center view for better interaction
-            jsExecutor.executeScript("arguments[0].scrollIntoView({block: 'center', inline: 'center'});", toCityElement);
-            Thread.sleep(1000);
-            
+            jsExecutor.executeScript("arguments[0].scrollIntoView({block: 'center', inline: 'center'});",
+                toCityElement);
+            waitForElementStable(toCityElement);
+
             // Try to click using different methods until successful
             try {
                 waitForElementClickable(toCity);
@@ -297,160 +557,416 @@ public class HomePage extends BasePage {
                     clickWithJavaScript(toCityElement);
                 }
             }
-            Thread.sleep(1500);
-            
+
             // Handle the input field with similar careful approach
             WebElement input = waitForElementVisible(toCityInput);
             jsExecutor.executeScript("arguments[0].scrollIntoView({block: 'center', inline: 'center'});", input);
-            Thread.sleep(1000);
-            
+            waitForElementStable(input);
+
             try {
                 waitForElementClickable(toCityInput);
                 input.click();
             } catch (Exception e) {
                 clickWithJavaScript(input);
             }
-            
+
+            selectCitySuggestion(input, destination);
+
+            // Let the form apply the selection before moving on
+            waitForDomQuietQuietly();
+
+            checkpoint("enterDestinationLocation", false);
+        }
+    }
+
+    /**
+     * The last completed step and the page it left the browser on, or null before any step has completed.
+     */
+    public FlowCheckpoint getLastCheckpoint() {
+        return lastCheckpoint;
+    }
+
+    /**
+     * Reopens a resumable checkpoint's page so a retried flow can continue after it instead of starting over.
+     */
+    public void resumeFrom(FlowCheckpoint checkpoint) {
+        try (ActionTimeline.Span span = ActionTimeline.start("HomePage.resumeFrom")) {
+            if (!checkpoint.isResumable()) {
+                throw new IllegalArgumentException("Checkpoint cannot be resumed: " + checkpoint);
+            }
+            driver.get(checkpoint.getUrl());
+            waitForPageLoad();
+            sortedByPrice = false;
+            lastCheckpoint = checkpoint;
+        }
+    }
+
+    private void checkpoint(String step, boolean resumable) {
+        lastCheckpoint = new FlowCheckpoint(step, driver.getCurrentUrl(), resumable);
+    }
+
+    /**
+     * Types the city into an open autosuggest input and picks its suggestion. A city seen before is typed as
+     * its cached airport code and the suggestion with that code is clicked as soon as it renders; otherwise
+     * the name is typed, the suggestion is found by text and its code is cached for next time.
+     */
+    private void selectCitySuggestion(WebElement input, String city) {
+        String code = CitySuggestionCache.lookup(city);
+        if (code != null) {
             input.clear();
-            input.sendKeys(destination);
-            Thread.sleep(2000);
-            
-            // Wait for suggestion list
-            wait.until(ExpectedConditions.presenceOfElementLocated(autoSuggestList));
-            wait.until(ExpectedConditions.visibilityOfElementLocated(autoSuggestList));
-            
-            // Find and click the first matching suggestion
-            By specificCity = By.xpath(String.format("//li[contains(@class, 'react-autosuggest__suggestion')]//p[contains(text(), '%s')]", destination));
-            WebElement cityElement = wait.until(ExpectedConditions.elementToBeClickable(specificCity));
-            clickWithJavaScript(cityElement);
-            
-            Thread.sleep(1000);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+            input.sendKeys(code);
+            try {
+                List<?> match = new TimedWait(driver, CACHED_SUGGESTION_TIMEOUT, Duration.ofMillis(100))
+                    .until(d -> (List<?>) jsExecutor.executeScript(SUGGESTION_SCRIPT, city, code));
+                clickWithJavaScript((WebElement) match.get(0));
+                return;
+            } catch (TimeoutException e) {
+                System.out.println("Cached suggestion " + code + " for " + city + " was not offered, evicting it");
+                CitySuggestionCache.evict(city);
+            }
         }
+
+        input.clear();
+        input.sendKeys(city);
+
+        // Wait for suggestion list
+        wait.until(ExpectedConditions.visibilityOfElementLocated(autoSuggestList));
+
+        // Find and click the first matching suggestion, remembering its code
+        List<?> match = wait.until(d -> (List<?>) jsExecutor.executeScript(SUGGESTION_SCRIPT, city, null));
+        clickWithJavaScript((WebElement) match.get(0));
+        CitySuggestionCache.store(city, (String) match.get(1));
     }
 
+    /**
+     * Selects a day between the 7th and 14th of next month, or else the first available day of that month.
+     */
     public void selectNextMonthDate() {
-        try {
-            // Click on the date selector to open calendar
-            WebElement dateElement = waitForElementVisible(dateSelector);
-            jsExecutor.executeScript("arguments[0].scrollIntoView({block: 'center', inline: 'center'});", dateElement);
-            Thread.sleep(1000);
-            clickWithJavaScript(dateElement);
-            Thread.sleep(1500);
-
-            // Click next month button
-            WebElement nextMonth = waitForElementVisible(nextMonthButton);
-            clickWithJavaScript(nextMonth);
-            Thread.sleep(1500);
-
-            // Get next month's date range (7-14)
-            LocalDate nextMonthDate = LocalDate.now().plusMonths(1);
-            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("d MMMM yyyy");
-            
-            // Find all available dates
-            List<WebElement> availableDates = driver.findElements(calendarDays);
-            WebElement targetDate = null;
-            
-            // Try to find a date between 7th and 14th of next month
-            for (WebElement date : availableDates) {
-                String ariaLabel = date.getAttribute("aria-label");
-                if (ariaLabel != null && !date.getAttribute("class").contains("disabled")) {
-                    try {
-                        LocalDate dateObj = LocalDate.parse(ariaLabel, formatter);
-                        if (dateObj.getMonth() == nextMonthDate.getMonth() && 
-                            dateObj.getDayOfMonth() >= 7 && dateObj.getDayOfMonth() <= 14) {
-                            targetDate = date;
-                            break;
-                        }
-                    } catch (Exception ignored) {
-                        // Parse error - continue to next date
-                    }
+        try (ActionTimeline.Span span = ActionTimeline.start("HomePage.selectNextMonthDate")) {
+            LocalDate nextMonth = LocalDate.now().plusMonths(1);
+            List<LocalDate> preferred = new ArrayList<>();
+            for (int day = 7; day <= 14; day++) {
+                preferred.add(nextMonth.withDayOfMonth(day));
+            }
+            for (int day = 1; day <= nextMonth.lengthOfMonth(); day++) {
+                if (day < 7 || day > 14) {
+                    preferred.add(nextMonth.withDayOfMonth(day));
                 }
             }
-            
-            // If no date found between 7-14, take first available date in next month
-            if (targetDate == null && !availableDates.isEmpty()) {
-                targetDate = availableDates.get(0);
+            pickDate(preferred);
+            checkpoint("selectNextMonthDate", false);
+        }
+    }
+
+    /**
+     * Opens the calendar and selects {@code date}, paging forward as many months as needed.
+     */
+    public LocalDate selectDate(LocalDate date) {
+        try (ActionTimeline.Span span = ActionTimeline.start("HomePage.selectDate")) {
+            LocalDate selected = pickDate(List.of(date));
+            checkpoint("selectDate", false);
+            return selected;
+        }
+    }
+
+    /**
+     * Opens the calendar and selects the earliest enabled day between {@code from} and {@code to} (inclusive).
+     * Returns the day selected.
+     */
+    public LocalDate selectFirstAvailable(LocalDate from, LocalDate to) {
+        try (ActionTimeline.Span span = ActionTimeline.start("HomePage.selectFirstAvailable")) {
+            LocalDate selected = pickDate(datesBetween(from, to));
+            checkpoint("selectDate", false);
+            return selected;
+        }
+    }
+
+    /**
+     * Opens the calendar and returns every enabled day between {@code from} and {@code to} (inclusive),
+     * read in one in-browser pass over the months in range. The calendar is left open on the month it
+     * started from.
+     */
+    public List<LocalDate> availableDates(LocalDate from, LocalDate to) {
+        try (ActionTimeline.Span span = ActionTimeline.start("HomePage.availableDates")) {
+            List<LocalDate> range = datesBetween(from, to);
+            if (range.isEmpty()) {
+                return new ArrayList<>();
             }
-            
-            if (targetDate != null) {
-                jsExecutor.executeScript("arguments[0].scrollIntoView({block: 'center', inline: 'center'});", targetDate);
-                Thread.sleep(1000);
-                clickWithJavaScript(targetDate);
-                Thread.sleep(1500);
-            } else {
-                throw new RuntimeException("No available dates found in next month");
+            openCalendar();
+            int maxPages = monthsToPage(to);
+            List<?> result = awaitScript(calendarTimeout(maxPages * 2), SCAN_DATES_SCRIPT, calendarLabels(range),
+                CALENDAR_DAY_CSS, NEXT_MONTH_CSS, maxPages, CALENDAR_PAGE_SETTLE.toMillis(), PREVIOUS_MONTH_CSS);
+            List<LocalDate> available = new ArrayList<>();
+            for (Object label : (List<?>) result.get(0)) {
+                available.add(LocalDate.parse(String.valueOf(label), CALENDAR_LABEL));
+            }
+            System.out.println(String.format("%d of %d days available between %s and %s (%s months paged)",
+                available.size(), range.size(), from, to, result.get(1)));
+            return available;
+        }
+    }
+
+    // Opens the calendar and clicks the first enabled candidate in a single async round trip
+    private LocalDate pickDate(List<LocalDate> candidates) {
+        if (candidates.isEmpty()) {
+            throw new IllegalArgumentException("No dates to select from");
+        }
+        LocalDate last = candidates.stream().max(Comparator.naturalOrder()).get();
+        try {
+            openCalendar();
+            int maxPages = monthsToPage(last);
+            List<?> result = awaitScript(calendarTimeout(maxPages), SELECT_DATE_SCRIPT, calendarLabels(candidates),
+                CALENDAR_DAY_CSS, NEXT_MONTH_CSS, maxPages, CALENDAR_PAGE_SETTLE.toMillis());
+            if (result.get(0) == null) {
+                throw new RuntimeException("No available date among " + candidates.size() + " candidates from "
+                    + candidates.get(0) + " after paging " + result.get(1) + " months");
             }
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new RuntimeException("Date selection was interrupted", e);
+            ActionTimeline.branch("pages=" + result.get(1));
+            waitForDomQuiet();
+            return LocalDate.parse(String.valueOf(result.get(0)), CALENDAR_LABEL);
         } catch (Exception e) {
             throw new RuntimeException("Error selecting date: " + e.getMessage(), e);
         }
     }
 
+    private void openCalendar() {
+        WebElement dateElement = waitForElementVisible(dateSelector);
+        jsExecutor.executeScript("arguments[0].scrollIntoView({block: 'center', inline: 'center'});", dateElement);
+        waitForElementStable(dateElement);
+        clickWithJavaScript(dateElement);
+    }
+
+    // The calendar opens on the current month, so a date N months ahead needs at most N pages
+    private static int monthsToPage(LocalDate date) {
+        return (int) Math.max(0, ChronoUnit.MONTHS.between(YearMonth.now(), YearMonth.from(date)));
+    }
+
+    private static Duration calendarTimeout(int pages) {
+        return CALENDAR_PAGE_SETTLE.multipliedBy(pages + 2L).plusSeconds(5);
+    }
+
+    private static List<LocalDate> datesBetween(LocalDate from, LocalDate to) {
+        List<LocalDate> dates = new ArrayList<>();
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            dates.add(date);
+        }
+        return dates;
+    }
+
+    private static List<String> calendarLabels(List<LocalDate> dates) {
+        List<String> labels = new ArrayList<>(dates.size());
+        for (LocalDate date : dates) {
+            labels.add(date.format(CALENDAR_LABEL));
+        }
+        return labels;
+    }
+
     public void clickSearch() {
-        try {
-            // Ensure search widget is visible
-            WebElement widget = wait.until(ExpectedConditions.visibilityOfElementLocated(searchWidgetContainer));
-            jsExecutor.executeScript("arguments[0].scrollIntoView({block: 'center'});", widget);
-            Thread.sleep(1000);
+        try (ActionTimeline.Span span = ActionTimeline.start("HomePage.clickSearch")) {
+            try {
+                // Ensure search widget is visible
+                WebElement widget = wait.until(ExpectedConditions.visibilityOfElementLocated(searchWidgetContainer));
+                jsExecutor.executeScript("arguments[0].scrollIntoView({block: 'center'});", widget);
+                waitForElementStable(widget);
 
-            // Remove any overlays before clicking
-            removeOverlays();
+                // Remove any overlays before clicking
+                removeOverlays();
             
-            // Try to find the search button with increased timeout
-            WebDriverWait longWait = new WebDriverWait(driver, Duration.ofSeconds(30));
-            WebElement searchBtn = longWait.until(ExpectedConditions.presenceOfElementLocated(searchButton));
+                // Try to find the search button with increased timeout
+                WebDriverWait longWait = new TimedWait(driver, Duration.ofSeconds(30), Duration.ofMillis(500));
+                WebElement searchBtn = longWait.until(ExpectedConditions.presenceOfElementLocated(searchButton));
             
-            // Ensure the button is in view and clickable
-            jsExecutor.executeScript("arguments[0].scrollIntoView({block: 'center'});", searchBtn);
-            Thread.sleep(1000);
+                // Ensure the button is in view and clickable
+                jsExecutor.executeScript("arguments[0].scrollIntoView({block: 'center'});", searchBtn);
+                waitForElementStable(searchBtn);
 
-            // Try multiple click strategies
-            try {
-                // Try regular click first
-                longWait.until(ExpectedConditions.elementToBeClickable(searchBtn)).click();
-            } catch (Exception e) {
+                // Try multiple click strategies
+                resetResponseCapture();
+                sortedByPrice = false;
                 try {
-                    // Try JavaScript click if regular click fails
-                    jsExecutor.executeScript("arguments[0].click();", searchBtn);
-                } catch (Exception e2) {
-                    // Final attempt: force visibility and click
-                    jsExecutor.executeScript(
-                        "arguments[0].style.opacity = '1';" +
-                        "arguments[0].style.visibility = 'visible';" +
-                        "arguments[0].style.display = 'block';" +
-                        "arguments[0].click();", searchBtn
-                    );
+                    // Try regular click first
+                    longWait.until(ExpectedConditions.elementToBeClickable(searchBtn)).click();
+                } catch (Exception e) {
+                    try {
+                        // Try JavaScript click if regular click fails
+                        jsExecutor.executeScript("arguments[0].click();", searchBtn);
+                    } catch (Exception e2) {
+                        // Final attempt: force visibility and click
+                        jsExecutor.executeScript(
+                            "arguments[0].style.opacity = '1';" +
+                            "arguments[0].style.visibility = 'visible';" +
+                            "arguments[0].style.display = 'block';" +
+                            "arguments[0].click();", searchBtn
+                        );
+                    }
                 }
+
+                // Verify search initiated
+                try {
+                    // Look for loading indicator or results
+                    By loadingIndicator = By.cssSelector("[class*='loader'], [class*='loading'], [class*='progress']");
+                    wait.until(ExpectedConditions.or(
+                        ExpectedConditions.presenceOfElementLocated(loadingIndicator),
+                        ExpectedConditions.presenceOfElementLocated(flightResults)
+                    ));
+                } catch (Exception ignored) {
+                    // Even if we can't verify loading state, continue
+                }
+
+            } catch (Exception e) {
+                throw new RuntimeException("Failed to perform search: " + e.getMessage(), e);
             }
 
-            // Wait for click to take effect
-            Thread.sleep(2000);
-            
-            // Verify search initiated
-            try {
-                // Look for loading indicator or results
-                By loadingIndicator = By.cssSelector("[class*='loader'], [class*='loading'], [class*='progress']");
-                wait.until(ExpectedConditions.or(
-                    ExpectedConditions.presenceOfElementLocated(loadingIndicator),
-                    ExpectedConditions.presenceOfElementLocated(flightResults)
-                ));
-            } catch (Exception ignored) {
-                // Even if we can't verify loading state, continue
+            checkpoint("clickSearch", true);
+        }
+    }
+
+    /**
+     * Opens the results listing for a one-way economy search straight from its URL, skipping the search form.
+     * Cities can be given as airport codes or as names the form has resolved before (see
+     * {@link CitySuggestionCache}) or that are listed in {@link #AIRPORT_CODES}.
+     */
+    public void searchDirect(String from, String to, LocalDate date, int adults) {
+        try (ActionTimeline.Span span = ActionTimeline.start("HomePage.searchDirect")) {
+            resetResponseCapture();
+            sortedByPrice = false;
+            driver.get(searchUrl(from, to, date, adults));
+            waitForPageLoad();
+
+            checkpoint("searchDirect", true);
+        }
+    }
+
+    /**
+     * Runs several one-way searches side by side in tabs of this browser and returns their flights keyed by
+     * route. Routes are {@code FROM-TO} pairs of airport codes or known city names. Up to {@code -Dtabs.max}
+     * (default 4) searches load at once: every tab starts its search, then the tabs are polled in turn, so the
+     * waits overlap instead of adding up. Each batch's tabs are closed once read. Results come from the rendered
+     * cards, since network capture only listens on the first tab; routes still loading after {@code timeout}
+     * are left out and a route listed twice is searched once.
+     */
+    public Map<String, FlightResults> searchInTabs(LocalDate date, int adults, Duration timeout, String... routes) {
+        try (ActionTimeline.Span span = ActionTimeline.start("HomePage.searchInTabs")) {
+            int perBatch = Math.max(1, Integer.getInteger("tabs.max", 4));
+            // A route searched twice would only open a second tab for the same results
+            List<String> distinct = new ArrayList<>(new LinkedHashSet<>(Arrays.asList(routes)));
+            Map<String, FlightResults> results = new LinkedHashMap<>();
+            for (int start = 0; start < distinct.size(); start += perBatch) {
+                List<TabManager.TabTask<FlightResults>> batch = new ArrayList<>();
+                for (String route : distinct.subList(start, Math.min(distinct.size(), start + perBatch))) {
+                    String[] cities = route.split("-", 2);
+                    if (cities.length != 2) {
+                        throw new IllegalArgumentException("Route must be FROM-TO: " + route);
+                    }
+                    String url = searchUrl(cities[0].trim(), cities[1].trim(), date, adults);
+                    batch.add(TabManager.TabTask.of(route,
+                        tab -> ((JavascriptExecutor) tab).executeScript("window.location.assign(arguments[0]);", url),
+                        tab -> readTabResults(tab, date)));
+                }
+                try {
+                    Map<String, FlightResults> byHandle = tabs().runInterleaved(batch, timeout);
+                    for (TabManager.TabTask<FlightResults> task : batch) {
+                        FlightResults flights = byHandle.get(task.getHandle());
+                        if (flights != null) {
+                            results.put(task.getPurpose(), flights);
+                        }
+                    }
+                } finally {
+                    // Close the batch's tabs even when a search failed, so they don't pile up in the browser
+                    for (TabManager.TabTask<FlightResults> task : batch) {
+                        if (task.getHandle() != null) {
+                            tabs().close(task.getHandle());
+                        }
+                    }
+                }
             }
+            return results;
+        }
+    }
 
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new RuntimeException("Search operation was interrupted", e);
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to perform search: " + e.getMessage(), e);
+    // Null while the tab's results are still loading
+    private static FlightResults readTabResults(WebDriver tab, LocalDate date) {
+        List<?> rows = (List<?>) ((JavascriptExecutor) tab).executeScript(TAB_RESULTS_SCRIPT,
+            FLIGHT_CARD_CSS, FLIGHT_PRICE_CSS, FLIGHT_DETAILS_CSS);
+        return rows == null ? null : toResults(rows, date);
+    }
+
+    private static String searchUrl(String from, String to, LocalDate date, int adults) {
+        return String.format("%s/flight/search?itinerary=%s-%s-%s&tripType=O&paxType=A-%d_C-0_I-0"
+            + "&intl=false&cabinClass=E", SiteConfig.baseUrl(), airportCode(from), airportCode(to),
+            date.format(ITINERARY_DATE), adults);
+    }
+
+    private TabManager tabs() {
+        if (tabs == null) {
+            tabs = new TabManager(driver);
+        }
+        return tabs;
+    }
+
+    private static String airportCode(String city) {
+        if (city.matches("[A-Z]{3}")) {
+            return city;
+        }
+        String code = CitySuggestionCache.lookup(city);
+        if (code == null) {
+            code = AIRPORT_CODES.get(city.trim().toLowerCase(Locale.ROOT));
+        }
+        if (code == null) {
+            throw new IllegalArgumentException("No airport code known for " + city
+                + "; pass the code or search for it through the form once");
         }
+        return code;
     }
 
+    /**
+     * Waits until a new search's results are available. With network capture active this returns as soon as the
+     * search API payload has arrived (see {@link #networkResults}), before any card renders; otherwise, or when
+     * no API response matched, it waits for the loader to go and the cards to render.
+     */
     public void waitForFlightResults() {
+        try (ActionTimeline.Span span = ActionTimeline.start("HomePage.waitForFlightResults")) {
+            if (responseCapture != null && !networkMissed) {
+                if (networkResults(NETWORK_RESULTS_TIMEOUT) != null) {
+                    span.branch("network");
+                    checkpoint("waitForFlightResults", true);
+                    return;
+                }
+                // The site's API does not match -Dresults.api; don't wait on it again
+                System.out.println("Warning: No search API response captured, waiting for the result cards");
+                networkMissed = true;
+            }
+            span.branch("dom");
+            waitForRenderedResults();
+
+            checkpoint("waitForFlightResults", true);
+        }
+    }
+
+    private void markListing() {
+        jsExecutor.executeScript(MARK_LISTING_SCRIPT, FLIGHT_CARD_CSS);
+    }
+
+    /**
+     * Waits for the listing to show the result of a sort or filter click, by watching the cards rather than
+     * the API: the site may re-sort on the client without a request, and the cards are what later steps click.
+     * Call {@link #markListing()} right before the click.
+     */
+    private void waitForListingRefresh() {
+        try (ActionTimeline.Span span = ActionTimeline.start("HomePage.waitForListingRefresh")) {
+            List<?> result = awaitScript(LISTING_REFRESH_TIMEOUT, AWAIT_LISTING_REFRESH_SCRIPT, FLIGHT_CARD_CSS,
+                LOADING_CSS, LISTING_QUIET_PERIOD.toMillis(), LISTING_REFRESH_TIMEOUT.toMillis());
+            if (!Boolean.TRUE.equals(result.get(0))) {
+                throw new TimeoutException("Listing not refreshed within " + LISTING_REFRESH_TIMEOUT.toMillis()
+                    + " ms (loading, fresh card, reordered): " + result.subList(1, result.size()));
+            }
+            span.branch(Boolean.TRUE.equals(result.get(2)) ? "replaced"
+                : Boolean.TRUE.equals(result.get(3)) ? "reordered" : "quiet");
+        }
+    }
+
+    // For steps that read or click the cards themselves
+    private void waitForRenderedResults() {
         // Wait for loading indicator to disappear
         wait.until(ExpectedConditions.invisibilityOfElementLocated(loadingIndicator));
         // Wait for flight results to appear
@@ -458,121 +974,291 @@ public class HomePage extends BasePage {
     }
 
     public void sortByPrice() {
-        // Open sort dropdown and select "Price"
-        click(sortDropdown);
-        // Wait for sort options to be visible
-        waitForElementVisible(priceSort);
-        // Click on price sort option
-        click(priceSort);
-        // Wait for re-sorting to complete
-        waitForFlightResults();
+        try (ActionTimeline.Span span = ActionTimeline.start("HomePage.sortByPrice")) {
+            // Open sort dropdown and select "Price"
+            click(sortDropdown);
+            resetResponseCapture();
+            // Wait for sort options to be visible
+            waitForElementVisible(priceSort);
+            // Click on price sort option
+            markListing();
+            click(priceSort);
+            // Wait for re-sorting to complete
+            waitForListingRefresh();
+            sortedByPrice = true;
+
+            checkpoint("sortByPrice", false);
+        }
     }
 
     public void filterByStops(int stops) {
-        if (stops == 0) {
-            click(nonStopFilter);
-            waitForFlightResults();
+        try (ActionTimeline.Span span = ActionTimeline.start("HomePage.filterByStops")) {
+            if (stops == 0) {
+                resetResponseCapture();
+                markListing();
+                click(nonStopFilter);
+                waitForListingRefresh();
+            }
+
+            checkpoint("filterByStops", false);
         }
     }
 
     public void filterByAirlines(String airline) {
-        click(airlinesFilter);
-        By airlineOption = By.xpath(String.format("//p[text()='%s']", airline));
-        click(airlineOption);
-        waitForFlightResults();
+        try (ActionTimeline.Span span = ActionTimeline.start("HomePage.filterByAirlines")) {
+            click(airlinesFilter);
+            By airlineOption = By.xpath(String.format("//p[text()='%s']", airline));
+            resetResponseCapture();
+            markListing();
+            click(airlineOption);
+            waitForListingRefresh();
+
+            checkpoint("filterByAirlines", false);
+        }
     }
 
-    public void printFlightDetails() {
-        try {
-            List<WebElement> flights = driver.findElements(flightResults);
-            System.out.println("\n=== Flight Search Results ===");
-            
-            if (flights.isEmpty()) {
-                System.out.println("No flights found!");
-                return;
+    /**
+     * Extracts every flight card on the results page with a single executeScript call.
+     * Cards without a readable price are skipped.
+     */
+    public List<FlightRecord> extractFlights() {
+        try (ActionTimeline.Span span = ActionTimeline.start("HomePage.extractFlights")) {
+            List<?> rows = (List<?>) jsExecutor.executeScript(EXTRACT_FLIGHTS_SCRIPT,
+                FLIGHT_CARD_CSS, FLIGHT_PRICE_CSS, FLIGHT_DETAILS_CSS);
+            List<FlightRecord> flights = new ArrayList<>(rows.size());
+            for (int i = 0; i < rows.size(); i++) {
+                FlightRecord flight = toFlightRecord((List<?>) rows.get(i));
+                if (flight == null) {
+                    System.out.println("Error parsing flight " + (i + 1) + ": no price");
+                    continue;
+                }
+                flights.add(flight);
             }
+            return flights;
+        }
+    }
 
-            // Store flight details for comparison
-            class FlightInfo {
-                String airline;
-                String departure;
-                String duration;
-                int price;
-                
-                @Override
-                public String toString() {
-                    return String.format("Airline: %s | Departure: %s | Duration: %s | Price: Rs.%d",
-                        airline, departure, duration, price);
-                }
+    /**
+     * Extracts every flight card into a column-wise {@link FlightResults}, parsing prices, departures and
+     * durations without intermediate strings. Departures are dated from the results URL when it has an
+     * itinerary.
+     */
+    public FlightResults extractResults() {
+        try (ActionTimeline.Span span = ActionTimeline.start("HomePage.extractResults")) {
+            List<?> rows = (List<?>) jsExecutor.executeScript(EXTRACT_FLIGHTS_SCRIPT,
+                FLIGHT_CARD_CSS, FLIGHT_PRICE_CSS, FLIGHT_DETAILS_CSS);
+            return toResults(rows, travelDateFromUrl());
+        }
+    }
+
+    private static FlightResults toResults(List<?> rows, LocalDate travelDate) {
+        FlightResults results = new FlightResults(travelDate, rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            List<?> row = (List<?>) rows.get(i);
+            if (!results.add(String.valueOf(row.get(0)), String.valueOf(row.get(1)),
+                    String.valueOf(row.get(2)), String.valueOf(row.get(3)))) {
+                System.out.println("Error parsing flight " + (i + 1) + ": no price");
             }
-            
-            List<FlightInfo> flightInfoList = new ArrayList<>();
-            
-            // Collect details for up to 5 flights
-            for (int i = 0; i < Math.min(5, flights.size()); i++) {
-                WebElement flight = flights.get(i);
-                try {
-                    FlightInfo info = new FlightInfo();
-                    
-                    // Get all flight details
-                    WebElement details = flight.findElement(flightDetails);
-                    WebElement price = flight.findElement(flightPrice);
-                    
-                    info.airline = details.getText().split("\n")[0];
-                    info.departure = details.getText().split("\n")[1];
-                    info.duration = details.getText().split("\n")[2];
-                    info.price = Integer.parseInt(price.getText().replaceAll("[^0-9]", ""));
-                    
-                    flightInfoList.add(info);
-                } catch (Exception e) {
-                    System.out.println("Error parsing flight " + (i + 1) + ": " + e.getMessage());
+        }
+        return results;
+    }
+
+    /**
+     * Flights parsed from the search API responses captured since the search was started (see
+     * {@link FlightResponseCapture}), waiting up to {@code timeout} for them to finish loading. They are
+     * available as soon as the payload arrives, before any card renders. Returns null when network capture is
+     * off or no response matched.
+     */
+    public FlightResults networkResults(Duration timeout) {
+        try (ActionTimeline.Span span = ActionTimeline.start("HomePage.networkResults")) {
+            return responseCapture == null ? null : responseCapture.await(travelDateFromUrl(), timeout);
+        }
+    }
+
+    private void resetResponseCapture() {
+        if (responseCapture != null) {
+            responseCapture.reset();
+        }
+    }
+
+    private LocalDate travelDateFromUrl() {
+        Matcher itinerary = ITINERARY_PATTERN.matcher(driver.getCurrentUrl());
+        return itinerary.find() ? LocalDate.parse(itinerary.group(3), ITINERARY_DATE) : null;
+    }
+
+    /**
+     * Streams flight cards as they render while the results page is scrolled, so lazy-loaded flights are
+     * included. Each card is read once; scrolling stops as soon as the stream is no longer consumed
+     * (e.g. after {@code limit(n)}) or when the listing stops growing.
+     */
+    public Stream<FlightRecord> streamFlights() {
+        waitForRenderedResults();
+        return StreamSupport.stream(new ScrollingFlightSpliterator(Long.toString(System.nanoTime(), 36)), false);
+    }
+
+    /**
+     * Returns the {@code count} cheapest flights, cheapest first. After {@link #sortByPrice()} the scan stops as
+     * soon as {@code count} flights have been read, since every later card costs at least as much; otherwise
+     * the whole listing is streamed.
+     */
+    public List<FlightRecord> cheapestFlights(int count) {
+        try (ActionTimeline.Span span = ActionTimeline.start("HomePage.cheapestFlights")) {
+            PriorityQueue<FlightRecord> cheapest = new PriorityQueue<>(
+                Comparator.comparingInt(FlightRecord::getPrice).reversed());
+            Iterator<FlightRecord> flights = streamFlights().iterator();
+            while (flights.hasNext()) {
+                cheapest.add(flights.next());
+                if (cheapest.size() > count) {
+                    cheapest.poll();
+                }
+                if (sortedByPrice && cheapest.size() == count) {
+                    break;
                 }
             }
-            
-            // Sort by price
-            flightInfoList.sort(Comparator.comparingInt(f -> f.price));
-            
-            // Print cheapest and second cheapest flights
-            System.out.println("\n[Best] Cheapest Flight Option:");
-            System.out.println(flightInfoList.get(0));
-            
-            if (flightInfoList.size() > 1) {
-                System.out.println("\n[Alt] Second Cheapest Flight Option:");
-                System.out.println(flightInfoList.get(1));
+            List<FlightRecord> result = new ArrayList<>(cheapest);
+            result.sort(Comparator.comparingInt(FlightRecord::getPrice));
+            return result;
+        }
+    }
+
+    private static FlightRecord toFlightRecord(List<?> row) {
+        int price = FlightResults.parsePrice(String.valueOf(row.get(3)));
+        if (price < 0) {
+            return null;
+        }
+        return new FlightRecord(String.valueOf(row.get(0)), String.valueOf(row.get(1)),
+            String.valueOf(row.get(2)), price);
+    }
+
+    // Pulls newly rendered cards one scroll step at a time, only when the consumer asks for more
+    private final class ScrollingFlightSpliterator extends Spliterators.AbstractSpliterator<FlightRecord> {
+        private final String token;
+        private final Deque<FlightRecord> buffer = new ArrayDeque<>();
+        private long lastHeight = -1;
+        private int idleScrolls;
+        private boolean exhausted;
+
+        private ScrollingFlightSpliterator(String token) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.token = token;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super FlightRecord> action) {
+            while (buffer.isEmpty() && !exhausted) {
+                fetchNextBatch();
             }
-            
-            // Print price difference if we have both flights
-            if (flightInfoList.size() > 1) {
-                int priceDiff = flightInfoList.get(1).price - flightInfoList.get(0).price;
-                System.out.println(String.format("\nPrice Difference: Rs.%d", priceDiff));
+            FlightRecord next = buffer.poll();
+            if (next == null) {
+                return false;
+            }
+            action.accept(next);
+            return true;
+        }
+
+        private void fetchNextBatch() {
+            try (ActionTimeline.Span span = ActionTimeline.start("HomePage.streamFlights.batch")) {
+                List<?> result = (List<?>) jsExecutor.executeScript(STREAM_FLIGHTS_SCRIPT,
+                    FLIGHT_CARD_CSS, FLIGHT_PRICE_CSS, FLIGHT_DETAILS_CSS, token);
+                List<?> rows = (List<?>) result.get(0);
+                long height = ((Number) result.get(1)).longValue();
+                for (Object row : rows) {
+                    FlightRecord flight = toFlightRecord((List<?>) row);
+                    if (flight != null) {
+                        buffer.add(flight);
+                    }
+                }
+
+                if (!rows.isEmpty() || height != lastHeight) {
+                    idleScrolls = 0;
+                } else if (++idleScrolls >= MAX_IDLE_SCROLLS) {
+                    exhausted = true;
+                }
+                lastHeight = height;
+                if (rows.isEmpty() && !exhausted) {
+                    // Give the lazy loader a chance to append the next page
+                    waitForDomQuietQuietly();
+                }
             }
-            
-            System.out.println("\n=== End of Search Results ===");
-            
-        } catch (Exception e) {
-            System.err.println("Error printing flight details: " + e.getMessage());
         }
     }
 
-    public void selectCheapestFlight() {
-        List<WebElement> flights = driver.findElements(flightResults);
-        if (!flights.isEmpty()) {
-            // Click on the first (cheapest) flight after sorting
-            clickWithJavaScript(flights.get(0));
-            // Wait for selection to be processed
+    public void printFlightDetails() {
+        try (ActionTimeline.Span span = ActionTimeline.start("HomePage.printFlightDetails")) {
             try {
-                Thread.sleep(2000);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
+                // Prefer the captured API payload; the cards are only read when nothing was captured
+                FlightResults results = networkResults(Duration.ZERO);
+                if (results == null || results.size() == 0) {
+                    span.branch("dom");
+                    results = extractResults();
+                } else {
+                    span.branch("network");
+                }
+                System.out.println("\n=== Flight Search Results ===");
+
+                if (results.size() == 0) {
+                    System.out.println("No flights found!");
+                    return;
+                }
+                System.out.println("Flights found: " + results.size());
+                recordPriceHistory(results);
+
+                // Only the two cheapest are needed, no need to sort the whole listing
+                int[] cheapest = results.cheapest(2);
+
+                // Print cheapest and second cheapest flights
+                System.out.println("\n[Best] Cheapest Flight Option:");
+                System.out.println(results.record(cheapest[0]));
+
+                if (cheapest.length > 1) {
+                    System.out.println("\n[Alt] Second Cheapest Flight Option:");
+                    System.out.println(results.record(cheapest[1]));
+
+                    // Print price difference if we have both flights
+                    int priceDiff = results.price(cheapest[1]) - results.price(cheapest[0]);
+                    System.out.println(String.format("\nPrice Difference: Rs.%d", priceDiff));
+                }
+
+                System.out.println("\n=== End of Search Results ===");
+
+            } catch (Exception e) {
+                System.err.println("Error printing flight details: " + e.getMessage());
+            }
+        }
+    }
+
+    // Appends the extracted flights to the price history, keyed by the route and date in the results URL
+    private void recordPriceHistory(FlightResults flights) {
+        FlightPriceStore store = FlightPriceStore.shared();
+        Matcher itinerary = ITINERARY_PATTERN.matcher(driver.getCurrentUrl());
+        if (store == null || flights.getTravelDate() == null || !itinerary.find()) {
+            return;
+        }
+        String route = itinerary.group(1) + "-" + itinerary.group(2);
+        try {
+            store.append(route, flights.getTravelDate(), flights);
+        } catch (RuntimeException e) {
+            System.out.println("Warning: Could not record price history for " + route + ": " + e.getMessage());
+        }
+    }
+
+    public void selectCheapestFlight() {
+        try (ActionTimeline.Span span = ActionTimeline.start("HomePage.selectCheapestFlight")) {
+            // The results may have come from the API payload; a card has to be rendered to be clicked
+            waitForRenderedResults();
+            List<WebElement> flights = driver.findElements(flightResults);
+            if (!flights.isEmpty()) {
+                // Click on the first (cheapest) flight after sorting
+                clickWithJavaScript(flights.get(0));
+                // Wait for selection to be processed
+                waitForDomQuietQuietly();
             }
         }
     }
 
     // Method to open Google in new tab and perform price comparison
     public void compareFlightPricesWithGoogle(String source, String destination) {
-        try {
-            // Store the original window handle
-            String originalWindow = driver.getWindowHandle();
+        try (ActionTimeline.Span span = ActionTimeline.start("HomePage.compareFlightPricesWithGoogle")) {
             String flightPriceText = "";
 
             // Get flight price if available
@@ -581,96 +1267,73 @@ public class HomePage extends BasePage {
                 flightPriceText = prices.get(0).getText().replaceAll("[^0-9]", "");
             }
 
-            // Open new tab using JavaScript
-            jsExecutor.executeScript("window.open()");
-            
-            // Switch to the new tab (it will be the last window handle)
-            for (String windowHandle : driver.getWindowHandles()) {
-                if (!windowHandle.equals(originalWindow)) {
-                    driver.switchTo().window(windowHandle);
-                    break;
-                }
-            }
+            // Open and switch to a new tab in one step
+            tabs().open("google-comparison");
 
             // Navigate to Google and search for flights
-            driver.get("https://www.google.com");
+            driver.get(SiteConfig.searchEngineUrl());
             WebElement searchBox = wait.until(ExpectedConditions.elementToBeClickable(By.name("q")));
             searchBox.sendKeys("flights from " + source + " to " + destination);
             searchBox.sendKeys(Keys.ENTER);
-            
-            // Wait for some time to see the results
-            Thread.sleep(3000);
+
+            // Wait for the results page to load
+            try {
+                waitForPageReady();
+            } catch (TimeoutException ignored) {
+                // Results are only opened for manual comparison
+            }
 
             // Switch back to original tab
-            driver.switchTo().window(originalWindow);
-            
+            tabs().switchToHome();
+
             // Log the comparison
             System.out.println("Price comparison completed. You can manually verify the prices.");
             if (!flightPriceText.isEmpty()) {
                 System.out.println("MakeMyTrip Price: ₹" + flightPriceText);
             }
-
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
         }
     }
 
-    // Method to verify flight availability on multiple websites
-    public void verifyFlightAcrossWebsites(String source, String destination) {
-        try {
-            // Store the original window handle
-            String originalWindow = driver.getWindowHandle();
-
-            // Create a list of websites to check
-            String[] websites = {
-                "https://www.google.com/travel/flights",
-                "https://www.cleartrip.com",
-                "https://www.goibibo.com"
-            };
-
-            // Open each website in a new tab
-            for (String website : websites) {
-                // Open new tab
-                jsExecutor.executeScript("window.open()");
-                
-                // Switch to new tab
-                for (String windowHandle : driver.getWindowHandles()) {
-                    if (!windowHandle.equals(originalWindow) && 
-                        !driver.switchTo().window(windowHandle).getCurrentUrl().equals("about:blank")) {
-                        driver.switchTo().window(windowHandle);
-                        break;
-                    }
-                }
-
-                // Navigate to the website
-                driver.get(website);
-                Thread.sleep(2000);
-                
-                System.out.println("Opened: " + website);
+    /**
+     * Compares the listed fare with every {@code -Dcomparison.sites} provider, querying all of them at once in
+     * their own browser sessions (see {@link PriceComparison}), and prints the merged price table. The route
+     * and date are taken from the current results URL when it has them.
+     */
+    public PriceTable verifyFlightAcrossWebsites(String source, String destination) {
+        try (ActionTimeline.Span span = ActionTimeline.start("HomePage.verifyFlightAcrossWebsites")) {
+            String fromCode;
+            String toCode;
+            LocalDate date;
+            Matcher itinerary = ITINERARY_PATTERN.matcher(driver.getCurrentUrl());
+            if (itinerary.find()) {
+                fromCode = itinerary.group(1);
+                toCode = itinerary.group(2);
+                date = LocalDate.parse(itinerary.group(3), ITINERARY_DATE);
+            } else {
+                fromCode = airportCode(source);
+                toCode = airportCode(destination);
+                date = LocalDate.now().plusMonths(1).withDayOfMonth(7);
             }
 
-            // Switch back to original MakeMyTrip tab
-            driver.switchTo().window(originalWindow);
-            
-            System.out.println("Flight search opened across multiple websites for comparison");
+            PriceTable table = PriceComparison.compare(fromCode, toCode, date, ComparisonProvider.configured());
+            table.print();
 
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+            List<WebElement> prices = driver.findElements(flightPrice);
+            String listed = prices.isEmpty() ? "" : prices.get(0).getText().replaceAll("[^0-9]", "");
+            if (!listed.isEmpty() && table.cheapest().isPresent()) {
+                PriceTable.Row cheapest = table.cheapest().get();
+                System.out.println(String.format("Listed fare Rs.%s vs cheapest elsewhere Rs.%d (%s)", listed,
+                    cheapest.getPrice(), cheapest.getProvider()));
+            }
+            return table;
         }
     }
 
     // Method to close all additional tabs except the main one
     public void closeAdditionalTabs() {
-        String originalWindow = driver.getWindowHandle();
-        
-        for (String windowHandle : driver.getWindowHandles()) {
-            if (!windowHandle.equals(originalWindow)) {
-                driver.switchTo().window(windowHandle);
-                driver.close();
-            }
+        try (ActionTimeline.Span span = ActionTimeline.start("HomePage.closeAdditionalTabs")) {
+            // Closes registered tabs and any the page opened itself, then returns to the original tab
+            tabs().closeAll();
         }
-        
-        // Switch back to the original tab
-        driver.switchTo().window(originalWindow);
     }
 }
\ No newline at end of file
@@ -0,0 +1,201 @@
+package com.travel.pages;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers which alternative of each {@link FallbackLocator} matched, per page version.
+ *
+ * The page version identifies a site build (see {@link BasePage#detectPageVersion()}). Within a version the
+ * alternative that matched most recently is tried first and the previous favourite is demoted behind it.
+ * Orders are persisted to {@code locator.cache} (default {@code target/locator-cache.properties}) so later runs
+ * start with the winners; hit/fallback/miss counts are kept per locator for the current run.
+ */
+public final class LocatorCache {
+    private static final Path CACHE_FILE = Paths.get(
+        System.getProperty("locator.cache", "target/locator-cache.properties"));
+    private static final String DEFAULT_VERSION = "default";
+
+    private static final Map<String, Entry> ENTRIES = new ConcurrentHashMap<>();
+    private static final Map<String, Stats> STATS = new ConcurrentHashMap<>();
+    private static final Properties PERSISTED = load();
+    private static final ThreadLocal<String> PAGE_VERSION = ThreadLocal.withInitial(() -> DEFAULT_VERSION);
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(LocatorCache::save, "locator-cache-save"));
+    }
+
+    private LocatorCache() {
+    }
+
+    /**
+     * Sets the page version used by locator lookups on the calling thread.
+     */
+    public static void usePageVersion(String version) {
+        PAGE_VERSION.set(version == null || version.isEmpty() ? DEFAULT_VERSION : version);
+    }
+
+    static Entry entry(String locatorName, int alternatives) {
+        String version = PAGE_VERSION.get();
+        Stats stats = STATS.computeIfAbsent(locatorName, Stats::new);
+        return ENTRIES.computeIfAbsent(version + "|" + locatorName,
+            key -> new Entry(key, alternatives, PERSISTED.getProperty(key), stats));
+    }
+
+    /**
+     * Hit/fallback/miss counts per locator name, sorted by name.
+     */
+    public static Map<String, Stats> stats() {
+        return new TreeMap<>(STATS);
+    }
+
+    /**
+     * Prints one line of statistics per locator.
+     */
+    public static void printStats() {
+        System.out.println("\n=== Locator Cache ===");
+        stats().values().forEach(System.out::println);
+    }
+
+    /**
+     * Writes the learned alternative orders to disk.
+     */
+    public static synchronized void save() {
+        Properties snapshot = new Properties();
+        snapshot.putAll(PERSISTED);
+        ENTRIES.forEach((key, entry) -> snapshot.setProperty(key, entry.serialize()));
+        try {
+            if (CACHE_FILE.getParent() != null) {
+                Files.createDirectories(CACHE_FILE.getParent());
+            }
+            try (OutputStream out = Files.newOutputStream(CACHE_FILE)) {
+                snapshot.store(out, "Preferred FallbackLocator alternatives per page version");
+            }
+        } catch (IOException e) {
+            System.out.println("Warning: Could not save locator cache: " + e.getMessage());
+        }
+    }
+
+    private static Properties load() {
+        Properties properties = new Properties();
+        if (Files.isRegularFile(CACHE_FILE)) {
+            try (InputStream in = Files.newInputStream(CACHE_FILE)) {
+                properties.load(in);
+            } catch (IOException e) {
+                System.out.println("Warning: Could not read locator cache: " + e.getMessage());
+            }
+        }
+        return properties;
+    }
+
+    /**
+     * Lookup counts for one locator: hits matched the preferred alternative, fallbacks matched a later one
+     * and misses matched nothing (typically a wait still polling).
+     */
+    public static final class Stats {
+        private final String locatorName;
+        private long hits;
+        private long fallbacks;
+        private long misses;
+
+        private Stats(String locatorName) {
+            this.locatorName = locatorName;
+        }
+
+        public synchronized long getHits() {
+            return hits;
+        }
+
+        public synchronized long getFallbacks() {
+            return fallbacks;
+        }
+
+        public synchronized long getMisses() {
+            return misses;
+        }
+
+        private synchronized void record(boolean preferred, boolean found) {
+            if (!found) {
+                misses++;
+            } else if (preferred) {
+                hits++;
+            } else {
+                fallbacks++;
+            }
+        }
+
+        @Override
+        public synchronized String toString() {
+            return String.format("%-24s hits=%d fallbacks=%d misses=%d", locatorName, hits, fallbacks, misses);
+        }
+    }
+
+    // Preferred order of one locator's alternatives on one page version
+    static final class Entry {
+        private final String key;
+        private final Stats stats;
+        private final List<Integer> order = new ArrayList<>();
+
+        private Entry(String key, int alternatives, String persisted, Stats stats) {
+            this.key = key;
+            this.stats = stats;
+            if (persisted != null) {
+                for (String index : persisted.split(",")) {
+                    try {
+                        int value = Integer.parseInt(index.trim());
+                        if (value >= 0 && value < alternatives && !order.contains(value)) {
+                            order.add(value);
+                        }
+                    } catch (NumberFormatException ignored) {
+                        // Corrupt entry; missing alternatives are appended below
+                    }
+                }
+            }
+            for (int i = 0; i < alternatives; i++) {
+                if (!order.contains(i)) {
+                    order.add(i);
+                }
+            }
+        }
+
+        synchronized List<Integer> order() {
+            return new ArrayList<>(order);
+        }
+
+        synchronized void record(int matchedIndex) {
+            boolean preferred = !order.isEmpty() && order.get(0) == matchedIndex;
+            stats.record(preferred, matchedIndex >= 0);
+            if (matchedIndex >= 0 && !preferred) {
+                // Promote the winner; everything that failed before it shifts back one place
+                order.remove(Integer.valueOf(matchedIndex));
+                order.add(0, matchedIndex);
+            }
+        }
+
+        synchronized String serialize() {
+            StringBuilder value = new StringBuilder();
+            for (int index : order) {
+                if (value.length() > 0) {
+                    value.append(',');
+                }
+                value.append(index);
+            }
+            return value.toString();
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + serialize();
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package com.travel.pages;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.NoSuchWindowException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WindowType;
+
+import com.travel.utils.ActionTimeline;
+
+/**
+ * Keeps track of the tabs a page object opens in its browser.
+ *
+ * Tabs are opened with {@code switchTo().newWindow(WindowType.TAB)}, which switches to the new tab directly, and
+ * registered under a purpose (e.g. {@code "google-comparison"}), so finding a tab never means switching
+ * through every handle. The registry also remembers which tab is current and skips redundant switches.
+ * {@link #runInterleaved(List, Duration)} runs several independent tasks in their own tabs of the one browser:
+ * every tab starts loading first, then the tabs are polled in turn, so their waits overlap. CDP features bound to
+ * the session's first tab (request blocking, overlay suppression, network result capture) do not apply to
+ * tabs opened here.
+ */
+public final class TabManager {
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(100);
+
+    private final WebDriver driver;
+    private final String homeHandle;
+    // Handle -> purpose, in the order the tabs were opened
+    private final Map<String, String> purposes = new LinkedHashMap<>();
+    private String currentHandle;
+
+    public TabManager(WebDriver driver) {
+        this.driver = driver;
+        this.homeHandle = driver.getWindowHandle();
+        this.currentHandle = homeHandle;
+        purposes.put(homeHandle, "home");
+    }
+
+    /**
+     * Opens a blank tab for {@code purpose}, switches to it and returns its handle.
+     */
+    public String open(String purpose) {
+        driver.switchTo().newWindow(WindowType.TAB);
+        String handle = driver.getWindowHandle();
+        purposes.put(handle, purpose);
+        currentHandle = handle;
+        return handle;
+    }
+
+    /**
+     * Switches to a registered tab, unless it is already current.
+     */
+    public void switchTo(String handle) {
+        if (!handle.equals(currentHandle)) {
+            driver.switchTo().window(handle);
+            currentHandle = handle;
+        }
+    }
+
+    /**
+     * Switches back to the tab the manager was created on. Always switches, in case other code changed tabs.
+     */
+    public void switchToHome() {
+        currentHandle = null;
+        switchTo(homeHandle);
+    }
+
+    /**
+     * Handle of the most recently opened tab with this purpose, or null.
+     */
+    public String handleFor(String purpose) {
+        String found = null;
+        for (Map.Entry<String, String> tab : purposes.entrySet()) {
+            if (tab.getValue().equals(purpose)) {
+                found = tab.getKey();
+            }
+        }
+        return found;
+    }
+
+    public String purposeOf(String handle) {
+        return purposes.get(handle);
+    }
+
+    /**
+     * Registered tabs, handle to purpose, in the order they were opened.
+     */
+    public Map<String, String> tabs() {
+        return new LinkedHashMap<>(purposes);
+    }
+
+    /**
+     * Closes one tab and returns to the home tab.
+     */
+    public void close(String handle) {
+        if (handle.equals(homeHandle)) {
+            throw new IllegalArgumentException("The home tab is closed with the session, not the tab manager");
+        }
+        try {
+            switchTo(handle);
+            driver.close();
+        } catch (NoSuchWindowException ignored) {
+            // Already closed by the page
+        }
+        purposes.remove(handle);
+        switchToHome();
+    }
+
+    /**
+     * Closes every tab except the home tab, including tabs the page opened itself (e.g. with
+     * {@code window.open}), and returns to the home tab. Unregistered tabs are found with one
+     * {@code getWindowHandles} call.
+     */
+    public void closeAll() {
+        Set<String> open = driver.getWindowHandles();
+        for (String handle : open) {
+            if (!handle.equals(homeHandle)) {
+                try {
+                    driver.switchTo().window(handle);
+                    driver.close();
+                } catch (NoSuchWindowException ignored) {
+                    // Closed in the meantime
+                }
+            }
+        }
+        purposes.keySet().retainAll(Set.of(homeHandle));
+        switchToHome();
+    }
+
+    /**
+     * Runs every task in a tab of its own: each tab is opened and its task started, then the tabs are polled
+     * round-robin until every task has a result or {@code timeout} passes. Results are keyed by tab handle (see
+     * {@link TabTask#getHandle()}), so tasks with the same purpose never overwrite each other; tasks that were
+     * not ready in time are missing from the map. A script error while a tab is between documents counts as
+     * not ready yet. Tabs are left open on their pages and registered, so callers can revisit or
+     * {@link #close} them. Ends on the home tab.
+     */
+    public <T> Map<String, T> runInterleaved(List<TabTask<T>> tasks, Duration timeout) {
+        try (ActionTimeline.Span span = ActionTimeline.start("TabManager.runInterleaved")) {
+            Map<String, TabTask<T>> pending = new LinkedHashMap<>();
+            for (TabTask<T> task : tasks) {
+                String handle = open(task.purpose);
+                task.handle = handle;
+                task.start.accept(driver);
+                pending.put(handle, task);
+            }
+
+            Map<String, T> results = new LinkedHashMap<>();
+            long deadline = System.nanoTime() + timeout.toNanos();
+            long waitStart = System.nanoTime();
+            try {
+                while (!pending.isEmpty()) {
+                    for (String handle : new ArrayList<>(pending.keySet())) {
+                        switchTo(handle);
+                        TabTask<T> task = pending.get(handle);
+                        T result;
+                        try {
+                            result = task.poll.apply(driver);
+                        } catch (JavascriptException e) {
+                            // The tab is unloading or mid-navigation; poll it again next round
+                            result = null;
+                        }
+                        if (result != null) {
+                            results.put(handle, result);
+                            pending.remove(handle);
+                        }
+                    }
+                    if (pending.isEmpty()) {
+                        break;
+                    }
+                    if (System.nanoTime() >= deadline) {
+                        List<String> waiting = new ArrayList<>();
+                        pending.values().forEach(task -> waiting.add(task.purpose));
+                        System.out.println("Warning: Tabs not ready within " + timeout.toMillis() + " ms: " + waiting);
+                        break;
+                    }
+                    try {
+                        Thread.sleep(POLL_INTERVAL.toMillis());
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new RuntimeException("Interrupted while waiting for tabs", e);
+                    }
+                }
+            } finally {
+                ActionTimeline.recordWait(System.nanoTime() - waitStart);
+                switchToHome();
+            }
+            return results;
+        }
+    }
+
+    /**
+     * One unit of work for {@link #runInterleaved}: {@code start} kicks it off in its tab without blocking
+     * (e.g. assigning {@code location}), {@code poll} returns the result once ready and null until then.
+     */
+    public static final class TabTask<T> {
+        private final String purpose;
+        private final Consumer<WebDriver> start;
+        private final Function<WebDriver, T> poll;
+        private String handle;
+
+        private TabTask(String purpose, Consumer<WebDriver> start, Function<WebDriver, T> poll) {
+            this.purpose = purpose;
+            this.start = start;
+            this.poll = poll;
+        }
+
+        public static <T> TabTask<T> of(String purpose, Consumer<WebDriver> start, Function<WebDriver, T> poll) {
+            return new TabTask<>(purpose, start, poll);
+        }
+
+        public String getPurpose() {
+            return purpose;
+        }
+
+        /**
+         * Handle of the tab the task runs in, or null before {@link #runInterleaved} has opened it.
+         */
+        public String getHandle() {
+            return handle;
+        }
+    }
+}
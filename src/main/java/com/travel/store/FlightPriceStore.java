@@ -0,0 +1,352 @@
+package com.travel.store;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.OptionalInt;
+
+import com.travel.pages.FlightRecord;
+import com.travel.pages.FlightResults;
+
+/**
+ * Append-only, columnar store of every flight price the suite has seen.
+ *
+ * Each search result batch (one route, one travel date, one capture time) is appended as a run of rows to
+ * fixed-width column files ({@code airline.col}, {@code departure.col}, {@code duration.col},
+ * {@code price.col}), followed by one 32-byte entry in {@code runs.idx} holding the route, travel date,
+ * capture time, first row, row count and the run's cheapest price. The index is loaded into primitive arrays
+ * and grouped by route, so questions like "cheapest DEL-BOM fare seen in the last 30 days" are answered from
+ * the index alone; full rows are read from memory-mapped column slices. Routes and airlines are
+ * dictionary-encoded in {@code routes.dict} / {@code airlines.dict}.
+ *
+ * The index entry is written last, so a run cut short by a crash is ignored and overwritten on the next open.
+ * Lives in {@code -Dprice.store} (default {@code target/price-store}); {@code none} disables recording.
+ */
+public final class FlightPriceStore implements AutoCloseable {
+    private static final int INDEX_ENTRY_BYTES = 32;
+    private static final String[] COLUMNS = {"airline.col", "departure.col", "duration.col", "price.col"};
+    private static final int[] COLUMN_WIDTHS = {4, 2, 2, 4};
+    private static final int AIRLINE = 0;
+    private static final int DEPARTURE = 1;
+    private static final int DURATION = 2;
+    private static final int PRICE = 3;
+
+    private static FlightPriceStore shared;
+
+    private final Path directory;
+    private final FileChannel[] columns = new FileChannel[COLUMNS.length];
+    private final FileChannel index;
+    private final Dictionary routes;
+    private final Dictionary airlines;
+
+    // In-memory copy of runs.idx, one slot per run
+    private int runCount;
+    private int[] runRoute = new int[1024];
+    private int[] runTravelDay = new int[1024];
+    private long[] runCapturedAt = new long[1024];
+    private long[] runFirstRow = new long[1024];
+    private int[] runRows = new int[1024];
+    private int[] runMinPrice = new int[1024];
+    private final Map<Integer, int[]> runsByRoute = new HashMap<>();
+    private final Map<Integer, Integer> runsByRouteCount = new HashMap<>();
+    private long totalRows;
+
+    public FlightPriceStore(Path directory) {
+        this.directory = directory;
+        try {
+            Files.createDirectories(directory);
+            for (int i = 0; i < COLUMNS.length; i++) {
+                columns[i] = FileChannel.open(directory.resolve(COLUMNS[i]), StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+            }
+            index = FileChannel.open(directory.resolve("runs.idx"), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+            routes = new Dictionary(directory.resolve("routes.dict"));
+            airlines = new Dictionary(directory.resolve("airlines.dict"));
+            loadIndex();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to open flight price store " + directory + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * The store configured with {@code -Dprice.store}, opened on first use, or null when recording is off.
+     */
+    public static synchronized FlightPriceStore shared() {
+        String location = System.getProperty("price.store", "target/price-store");
+        if ("none".equalsIgnoreCase(location)) {
+            return null;
+        }
+        if (shared == null) {
+            shared = new FlightPriceStore(Paths.get(location));
+            Runtime.getRuntime().addShutdownHook(new Thread(shared::close, "price-store-close"));
+        }
+        return shared;
+    }
+
+    /**
+     * Prints the cheapest recorded fare for a route, e.g. {@code FlightPriceStore DEL-BOM 30} for the last
+     * 30 days of captures.
+     */
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.out.println("Usage: FlightPriceStore <FROM-TO> [days, default 30]");
+            return;
+        }
+        int days = args.length > 1 ? Integer.parseInt(args[1]) : 30;
+        try (FlightPriceStore store = new FlightPriceStore(
+            Paths.get(System.getProperty("price.store", "target/price-store")))) {
+            long start = System.nanoTime();
+            OptionalInt cheapest = store.cheapestSince(args[0], Instant.now().minusSeconds(days * 86_400L));
+            System.out.println(String.format("%s over the last %d days: %s (%d rows stored, %.2f ms)", args[0],
+                days, cheapest.isPresent() ? "Rs." + cheapest.getAsInt() : "no data", store.totalRows,
+                (System.nanoTime() - start) / 1e6));
+        }
+    }
+
+    /**
+     * Appends one search's flights for a route (e.g. {@code DEL-BOM}) and travel date, captured now.
+     */
+    public void append(String route, LocalDate travelDate, List<FlightRecord> flights) {
+        append(route, travelDate, Instant.now(), FlightResults.of(travelDate, flights));
+    }
+
+    public void append(String route, LocalDate travelDate, FlightResults flights) {
+        append(route, travelDate, Instant.now(), flights);
+    }
+
+    public synchronized void append(String route, LocalDate travelDate, Instant capturedAt,
+                                    FlightResults flights) {
+        int rows = flights.size();
+        if (rows == 0) {
+            return;
+        }
+        ByteBuffer[] buffers = new ByteBuffer[COLUMNS.length];
+        for (int i = 0; i < COLUMNS.length; i++) {
+            buffers[i] = ByteBuffer.allocate(rows * COLUMN_WIDTHS[i]).order(ByteOrder.LITTLE_ENDIAN);
+        }
+        int minPrice = Integer.MAX_VALUE;
+        try {
+            for (int row = 0; row < rows; row++) {
+                buffers[AIRLINE].putInt(airlines.id(flights.airline(row)));
+                buffers[DEPARTURE].putShort((short) flights.departureMinuteOfDay(row));
+                buffers[DURATION].putShort((short) flights.durationMinutes(row));
+                buffers[PRICE].putInt(flights.price(row));
+                minPrice = Math.min(minPrice, flights.price(row));
+            }
+            for (int i = 0; i < COLUMNS.length; i++) {
+                buffers[i].flip();
+                long position = totalRows * COLUMN_WIDTHS[i];
+                while (buffers[i].hasRemaining()) {
+                    position += columns[i].write(buffers[i], position);
+                }
+            }
+
+            int routeId = routes.id(route.toUpperCase(Locale.ROOT));
+            ByteBuffer entry = ByteBuffer.allocate(INDEX_ENTRY_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            entry.putInt(routeId).putInt((int) travelDate.toEpochDay()).putLong(capturedAt.toEpochMilli())
+                .putLong(totalRows).putInt(rows).putInt(minPrice).flip();
+            long position = (long) runCount * INDEX_ENTRY_BYTES;
+            while (entry.hasRemaining()) {
+                position += index.write(entry, position);
+            }
+            addRun(routeId, (int) travelDate.toEpochDay(), capturedAt.toEpochMilli(), totalRows, rows, minPrice);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to append to flight price store: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Cheapest fare captured for a route at or after {@code since}.
+     */
+    public synchronized OptionalInt cheapestSince(String route, Instant since) {
+        long sinceMillis = since.toEpochMilli();
+        int cheapest = Integer.MAX_VALUE;
+        for (int run : runsFor(route)) {
+            if (runCapturedAt[run] >= sinceMillis) {
+                cheapest = Math.min(cheapest, runMinPrice[run]);
+            }
+        }
+        return cheapest == Integer.MAX_VALUE ? OptionalInt.empty() : OptionalInt.of(cheapest);
+    }
+
+    /**
+     * Cheapest fare ever captured for a route with a travel date between {@code from} and {@code to}
+     * (inclusive).
+     */
+    public synchronized OptionalInt cheapestForTravelDates(String route, LocalDate from, LocalDate to) {
+        long first = from.toEpochDay();
+        long last = to.toEpochDay();
+        int cheapest = Integer.MAX_VALUE;
+        for (int run : runsFor(route)) {
+            if (runTravelDay[run] >= first && runTravelDay[run] <= last) {
+                cheapest = Math.min(cheapest, runMinPrice[run]);
+            }
+        }
+        return cheapest == Integer.MAX_VALUE ? OptionalInt.empty() : OptionalInt.of(cheapest);
+    }
+
+    /**
+     * Every stored flight for a route and travel date, oldest capture first.
+     */
+    public synchronized List<StoredFlight> flights(String route, LocalDate travelDate) {
+        List<StoredFlight> flights = new ArrayList<>();
+        int day = (int) travelDate.toEpochDay();
+        try {
+            for (int run : runsFor(route)) {
+                if (runTravelDay[run] != day) {
+                    continue;
+                }
+                MappedByteBuffer[] slices = new MappedByteBuffer[COLUMNS.length];
+                for (int i = 0; i < COLUMNS.length; i++) {
+                    slices[i] = columns[i].map(FileChannel.MapMode.READ_ONLY, runFirstRow[run] * COLUMN_WIDTHS[i],
+                        (long) runRows[run] * COLUMN_WIDTHS[i]);
+                    slices[i].order(ByteOrder.LITTLE_ENDIAN);
+                }
+                for (int row = 0; row < runRows[run]; row++) {
+                    flights.add(new StoredFlight(route, travelDate, Instant.ofEpochMilli(runCapturedAt[run]),
+                        airlines.name(slices[AIRLINE].getInt()), slices[DEPARTURE].getShort(),
+                        slices[DURATION].getShort(), slices[PRICE].getInt()));
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read flight price store: " + e.getMessage(), e);
+        }
+        return flights;
+    }
+
+    /**
+     * Number of flights stored.
+     */
+    public synchronized long size() {
+        return totalRows;
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            for (FileChannel column : columns) {
+                if (column != null && column.isOpen()) {
+                    column.force(false);
+                    column.close();
+                }
+            }
+            if (index != null && index.isOpen()) {
+                index.force(false);
+                index.close();
+            }
+        } catch (IOException e) {
+            System.out.println("Warning: Could not close flight price store " + directory + ": " + e.getMessage());
+        }
+    }
+
+    private int[] runsFor(String route) {
+        Integer routeId = routes.find(route.toUpperCase(Locale.ROOT));
+        if (routeId == null) {
+            return new int[0];
+        }
+        return Arrays.copyOf(runsByRoute.get(routeId), runsByRouteCount.get(routeId));
+    }
+
+    private void loadIndex() throws IOException {
+        long entries = index.size() / INDEX_ENTRY_BYTES;
+        if (entries > 0) {
+            MappedByteBuffer buffer = index.map(FileChannel.MapMode.READ_ONLY, 0, entries * INDEX_ENTRY_BYTES);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            for (long i = 0; i < entries; i++) {
+                addRun(buffer.getInt(), buffer.getInt(), buffer.getLong(), buffer.getLong(), buffer.getInt(),
+                    buffer.getInt());
+            }
+        }
+        // Drop anything written after the last complete run
+        index.truncate((long) runCount * INDEX_ENTRY_BYTES);
+        for (int i = 0; i < COLUMNS.length; i++) {
+            columns[i].truncate(totalRows * COLUMN_WIDTHS[i]);
+        }
+    }
+
+    private void addRun(int routeId, int travelDay, long capturedAt, long firstRow, int rows, int minPrice) {
+        if (runCount == runRoute.length) {
+            int capacity = runCount * 2;
+            runRoute = Arrays.copyOf(runRoute, capacity);
+            runTravelDay = Arrays.copyOf(runTravelDay, capacity);
+            runCapturedAt = Arrays.copyOf(runCapturedAt, capacity);
+            runFirstRow = Arrays.copyOf(runFirstRow, capacity);
+            runRows = Arrays.copyOf(runRows, capacity);
+            runMinPrice = Arrays.copyOf(runMinPrice, capacity);
+        }
+        runRoute[runCount] = routeId;
+        runTravelDay[runCount] = travelDay;
+        runCapturedAt[runCount] = capturedAt;
+        runFirstRow[runCount] = firstRow;
+        runRows[runCount] = rows;
+        runMinPrice[runCount] = minPrice;
+
+        int[] routeRuns = runsByRoute.getOrDefault(routeId, new int[8]);
+        int count = runsByRouteCount.getOrDefault(routeId, 0);
+        if (count == routeRuns.length) {
+            routeRuns = Arrays.copyOf(routeRuns, count * 2);
+        }
+        routeRuns[count] = runCount;
+        runsByRoute.put(routeId, routeRuns);
+        runsByRouteCount.put(routeId, count + 1);
+
+        runCount++;
+        totalRows = firstRow + rows;
+    }
+
+    /**
+     * Append-only string dictionary: the id of a name is its line number in the file.
+     */
+    private static final class Dictionary {
+        private final Path file;
+        private final List<String> names = new ArrayList<>();
+        private final Map<String, Integer> ids = new HashMap<>();
+
+        private Dictionary(Path file) throws IOException {
+            this.file = file;
+            if (Files.isRegularFile(file)) {
+                for (String name : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                    ids.putIfAbsent(name, names.size());
+                    names.add(name);
+                }
+            }
+        }
+
+        private Integer find(String name) {
+            return ids.get(name);
+        }
+
+        private int id(String name) throws IOException {
+            String value = name == null ? "" : name.replace('\n', ' ');
+            Integer id = ids.get(value);
+            if (id == null) {
+                Files.write(file, (value + "\n").getBytes(StandardCharsets.UTF_8), StandardOpenOption.CREATE,
+                    StandardOpenOption.APPEND);
+                id = names.size();
+                names.add(value);
+                ids.put(value, id);
+            }
+            return id;
+        }
+
+        private String name(int id) {
+            return id >= 0 && id < names.size() ? names.get(id) : "";
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.travel.store;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * A flight read back from {@link FlightPriceStore}.
+ */
+public final class StoredFlight {
+    private final String route;
+    private final LocalDate travelDate;
+    private final Instant capturedAt;
+    private final String airline;
+    private final int departureMinutes;
+    private final int durationMinutes;
+    private final int price;
+
+    StoredFlight(String route, LocalDate travelDate, Instant capturedAt, String airline, int departureMinutes,
+                 int durationMinutes, int price) {
+        this.route = route;
+        this.travelDate = travelDate;
+        this.capturedAt = capturedAt;
+        this.airline = airline;
+        this.departureMinutes = departureMinutes;
+        this.durationMinutes = durationMinutes;
+        this.price = price;
+    }
+
+    public String getRoute() {
+        return route;
+    }
+
+    public LocalDate getTravelDate() {
+        return travelDate;
+    }
+
+    public Instant getCapturedAt() {
+        return capturedAt;
+    }
+
+    public String getAirline() {
+        return airline;
+    }
+
+    /**
+     * Departure time in minutes after midnight, or -1 if it could not be read.
+     */
+    public int getDepartureMinutes() {
+        return departureMinutes;
+    }
+
+    /**
+     * Flight duration in minutes, or -1 if it could not be read.
+     */
+    public int getDurationMinutes() {
+        return durationMinutes;
+    }
+
+    public int getPrice() {
+        return price;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s %s | %s | %s | %s | Rs.%d (captured %s)", route, travelDate, airline,
+            departureMinutes < 0 ? "-" : String.format("%02d:%02d", departureMinutes / 60, departureMinutes % 60),
+            durationMinutes < 0 ? "-" : String.format("%dh %02dm", durationMinutes / 60, durationMinutes % 60),
+            price, capturedAt);
+    }
+}
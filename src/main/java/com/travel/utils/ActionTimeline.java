@@ -0,0 +1,244 @@
+package com.travel.utils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Times page-object actions.
+ *
+ * Each action runs inside a {@link Span} that records its duration, the time spent in explicit waits, the number
+ * of WebDriver commands sent (counted by the drivers {@link WebDriverFactory} creates) and which retry or
+ * fallback branch it took. Durations are aggregated per action into p50/p95/p99 histograms, and the spans of a
+ * test started with {@link #beginTest(String)} are written as a Chrome trace-event timeline that opens in
+ * {@code chrome://tracing} or Perfetto. Timelines go to {@code -Dtimeline.dir} (default {@code target/timelines}).
+ */
+public final class ActionTimeline {
+    private static final long ORIGIN = System.nanoTime();
+    private static final Map<String, Histogram> HISTOGRAMS = new ConcurrentHashMap<>();
+    private static final ThreadLocal<ThreadState> STATE = ThreadLocal.withInitial(ThreadState::new);
+
+    private ActionTimeline() {
+    }
+
+    /**
+     * Opens a span on the calling thread; close it (try-with-resources) when the action is done.
+     */
+    public static Span start(String name) {
+        ThreadState state = STATE.get();
+        Span span = new Span(name, state);
+        state.open.push(span);
+        return span;
+    }
+
+    /**
+     * Records which retry or fallback branch the innermost open span took.
+     */
+    public static void branch(String branch) {
+        Span span = STATE.get().open.peek();
+        if (span != null) {
+            span.branch = branch;
+        }
+    }
+
+    /**
+     * Counts one WebDriver command sent from the calling thread.
+     */
+    public static void roundTrip() {
+        STATE.get().roundTrips++;
+    }
+
+    /**
+     * Adds time the calling thread spent blocked in an explicit wait.
+     */
+    public static void recordWait(long nanos) {
+        STATE.get().waitNanos += nanos;
+    }
+
+    /**
+     * Starts collecting spans for a timeline of the named test on the calling thread.
+     */
+    public static void beginTest(String testName) {
+        ThreadState state = STATE.get();
+        state.testName = testName;
+        state.events.clear();
+    }
+
+    /**
+     * Writes the calling thread's test timeline and stops collecting. Returns the file, or null if no test
+     * was started or the file could not be written.
+     */
+    public static Path endTest() {
+        ThreadState state = STATE.get();
+        if (state.testName == null) {
+            return null;
+        }
+        String testName = state.testName;
+        List<Span> events = new ArrayList<>(state.events);
+        state.testName = null;
+        state.events.clear();
+
+        Path file = Paths.get(System.getProperty("timeline.dir", "target/timelines"),
+            testName.replaceAll("[^A-Za-z0-9._-]+", "_") + ".json");
+        try {
+            Files.createDirectories(file.getParent());
+            Files.write(file, traceJson(testName, events).getBytes(StandardCharsets.UTF_8));
+            System.out.println("Timeline written to " + file);
+            return file;
+        } catch (IOException e) {
+            System.err.println("Could not write timeline " + file + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Prints latency percentiles, WebDriver round trips and wait time per action.
+     */
+    public static void printReport() {
+        if (HISTOGRAMS.isEmpty()) {
+            return;
+        }
+        System.out.println("\n=== Action Timings ===");
+        System.out.println(String.format("%-40s %6s %9s %9s %9s %9s %8s %9s", "Action", "Count", "p50 ms",
+            "p95 ms", "p99 ms", "Max ms", "Avg RT", "Avg wait"));
+        new TreeMap<>(HISTOGRAMS).values().forEach(System.out::println);
+    }
+
+    private static String traceJson(String testName, List<Span> events) {
+        StringBuilder json = new StringBuilder("{\"traceEvents\":[");
+        json.append("{\"name\":\"process_name\",\"ph\":\"M\",\"pid\":1,\"args\":{\"name\":\"")
+            .append(escape(testName)).append("\"}}");
+        for (Span span : events) {
+            json.append(",{\"name\":\"").append(escape(span.name)).append("\",\"cat\":\"")
+                .append(escape(span.name.substring(0, Math.max(0, span.name.indexOf('.')))))
+                .append("\",\"ph\":\"X\",\"pid\":1,\"tid\":").append(span.threadId)
+                .append(",\"ts\":").append((span.startNanos - ORIGIN) / 1000)
+                .append(",\"dur\":").append(span.durationNanos / 1000)
+                .append(",\"args\":{\"roundTrips\":").append(span.roundTrips)
+                .append(",\"waitMs\":").append(span.waitNanos / 1_000_000);
+            if (span.branch != null) {
+                json.append(",\"branch\":\"").append(escape(span.branch)).append('"');
+            }
+            json.append("}}");
+        }
+        return json.append("],\"displayTimeUnit\":\"ms\"}").toString();
+    }
+
+    private static String escape(String value) {
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (char c : value.toCharArray()) {
+            if (c == '"' || c == '\\') {
+                escaped.append('\\').append(c);
+            } else if (c < 0x20) {
+                escaped.append(String.format("\\u%04x", (int) c));
+            } else {
+                escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    /**
+     * One timed action. Nested spans are included in their parent's round trips and wait time.
+     */
+    public static final class Span implements AutoCloseable {
+        private final String name;
+        private final ThreadState state;
+        private final long threadId = Thread.currentThread().getId();
+        private final long startNanos = System.nanoTime();
+        private final long startRoundTrips;
+        private final long startWaitNanos;
+        private long durationNanos;
+        private long roundTrips;
+        private long waitNanos;
+        private String branch;
+        private boolean closed;
+
+        private Span(String name, ThreadState state) {
+            this.name = name;
+            this.state = state;
+            this.startRoundTrips = state.roundTrips;
+            this.startWaitNanos = state.waitNanos;
+        }
+
+        /**
+         * Records which retry or fallback branch this action took.
+         */
+        public void branch(String branch) {
+            this.branch = branch;
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            durationNanos = System.nanoTime() - startNanos;
+            roundTrips = state.roundTrips - startRoundTrips;
+            waitNanos = state.waitNanos - startWaitNanos;
+            state.open.remove(this);
+            HISTOGRAMS.computeIfAbsent(name, Histogram::new).record(this);
+            if (state.testName != null) {
+                state.events.add(this);
+            }
+        }
+    }
+
+    // Per-thread counters and the spans of the test running on that thread
+    private static final class ThreadState {
+        private final Deque<Span> open = new ArrayDeque<>();
+        private final List<Span> events = new ArrayList<>();
+        private long roundTrips;
+        private long waitNanos;
+        private String testName;
+    }
+
+    // Every duration observed for one action, kept exact so percentiles need no bucketing
+    private static final class Histogram {
+        private final String name;
+        private long[] durations = new long[64];
+        private int count;
+        private long totalRoundTrips;
+        private long totalWaitNanos;
+
+        private Histogram(String name) {
+            this.name = name;
+        }
+
+        private synchronized void record(Span span) {
+            if (count == durations.length) {
+                durations = Arrays.copyOf(durations, count * 2);
+            }
+            durations[count++] = span.durationNanos;
+            totalRoundTrips += span.roundTrips;
+            totalWaitNanos += span.waitNanos;
+        }
+
+        // Nearest-rank percentile over a sorted copy
+        private static double percentileMillis(long[] sorted, double percentile) {
+            int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+            return sorted[Math.max(0, rank - 1)] / 1_000_000.0;
+        }
+
+        @Override
+        public synchronized String toString() {
+            long[] sorted = Arrays.copyOf(durations, count);
+            Arrays.sort(sorted);
+            return String.format("%-40s %6d %9.1f %9.1f %9.1f %9.1f %8.1f %9.1f", name, count,
+                percentileMillis(sorted, 50), percentileMillis(sorted, 95), percentileMillis(sorted, 99),
+                sorted[count - 1] / 1_000_000.0, (double) totalRoundTrips / count,
+                totalWaitNanos / 1_000_000.0 / count);
+        }
+    }
+}
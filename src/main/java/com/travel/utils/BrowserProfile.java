@@ -0,0 +1,150 @@
+package com.travel.utils;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.firefox.FirefoxOptions;
+
+/**
+ * Named browser configurations, selected with {@code -Dprofile} (default {@code headed-debug}).
+ *
+ * <ul>
+ *   <li>{@code headed-debug}: visible, maximized browser for watching and debugging a run</li>
+ *   <li>{@code headless-ci}: headless 1920x1080 browser with a persistent disk cache per session slot</li>
+ *   <li>{@code headless-lean}: headless 1366x768 browser trimmed for density, with at most two renderer
+ *       processes, no background services and a small capped cache</li>
+ * </ul>
+ */
+public enum BrowserProfile {
+    HEADED_DEBUG("headed-debug", false, 0, 0, 0, 0),
+    HEADLESS_CI("headless-ci", true, 1920, 1080, 0, 0),
+    HEADLESS_LEAN("headless-lean", true, 1366, 768, 2, 50 * 1024 * 1024,
+        "--disable-extensions",
+        "--disable-background-networking",
+        "--disable-component-update",
+        "--disable-default-apps",
+        "--disable-sync",
+        "--disable-features=Translate,OptimizationHints,MediaRouter",
+        "--mute-audio",
+        "--no-first-run",
+        "--js-flags=--max-old-space-size=512");
+
+    private static final Path CACHE_ROOT = Paths.get("target", "browser-cache");
+
+    private final String profileName;
+    private final boolean headless;
+    private final int width;
+    private final int height;
+    private final int rendererProcessLimit;
+    private final int diskCacheBytes;
+    private final List<String> extraChromeArguments;
+
+    BrowserProfile(String profileName, boolean headless, int width, int height, int rendererProcessLimit,
+                   int diskCacheBytes, String... extraChromeArguments) {
+        this.profileName = profileName;
+        this.headless = headless;
+        this.width = width;
+        this.height = height;
+        this.rendererProcessLimit = rendererProcessLimit;
+        this.diskCacheBytes = diskCacheBytes;
+        this.extraChromeArguments = Collections.unmodifiableList(Arrays.asList(extraChromeArguments));
+    }
+
+    /**
+     * Resolves the profile named by {@code -Dprofile}.
+     */
+    public static BrowserProfile current() {
+        String name = System.getProperty("profile", HEADED_DEBUG.profileName);
+        for (BrowserProfile profile : values()) {
+            if (profile.profileName.equalsIgnoreCase(name)) {
+                return profile;
+            }
+        }
+        throw new IllegalArgumentException("Unknown browser profile '" + name + "', expected one of "
+            + Arrays.toString(values()));
+    }
+
+    public String getProfileName() {
+        return profileName;
+    }
+
+    public boolean isHeadless() {
+        return headless;
+    }
+
+    /**
+     * Whether the window should be maximized instead of using a fixed viewport.
+     */
+    public boolean isMaximized() {
+        return width == 0;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Adds this profile's flags to Chrome options. {@code slot} picks the session's cache directory so
+     * concurrent sessions never share one while later sessions in the same slot start with a warm cache.
+     */
+    public void applyTo(ChromeOptions options, int slot) {
+        List<String> arguments = new ArrayList<>();
+        if (headless) {
+            arguments.add("--headless=new");
+            arguments.add("--window-size=" + width + "," + height);
+            arguments.add("--hide-scrollbars");
+        } else {
+            arguments.add("--start-maximized");
+        }
+        if (rendererProcessLimit > 0) {
+            arguments.add("--renderer-process-limit=" + rendererProcessLimit);
+        }
+        if (headless) {
+            arguments.add("--disk-cache-dir=" + cacheDirectory(slot).toAbsolutePath());
+        }
+        if (diskCacheBytes > 0) {
+            arguments.add("--disk-cache-size=" + diskCacheBytes);
+        }
+        arguments.addAll(extraChromeArguments);
+        options.addArguments(arguments);
+    }
+
+    /**
+     * Adds this profile's settings to Firefox options.
+     */
+    public void applyTo(FirefoxOptions options, int slot) {
+        if (headless) {
+            options.addArguments("-headless");
+            options.addArguments("--width=" + width);
+            options.addArguments("--height=" + height);
+            options.addPreference("browser.cache.disk.parent_directory",
+                cacheDirectory(slot).toAbsolutePath().toString());
+        } else {
+            options.addArguments("--start-maximized");
+        }
+        if (rendererProcessLimit > 0) {
+            options.addPreference("dom.ipc.processCount", rendererProcessLimit);
+        }
+        if (diskCacheBytes > 0) {
+            options.addPreference("browser.cache.disk.capacity", diskCacheBytes / 1024);
+        }
+    }
+
+    private Path cacheDirectory(int slot) {
+        return CACHE_ROOT.resolve(profileName + "-" + slot);
+    }
+
+    @Override
+    public String toString() {
+        return profileName;
+    }
+}
@@ -0,0 +1,720 @@
+package com.travel.utils;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local forward proxy that shares a disk cache of static assets between browser sessions.
+ *
+ * Started once per suite with {@code -Dproxy.cache=true} and set as the HTTP/HTTPS proxy of every session
+ * {@link WebDriverFactory} launches. Plain-HTTP {@code GET}s of scripts, stylesheets, fonts and images are
+ * served from a content-addressed cache under {@code -Dproxy.cache.dir} (default {@code target/proxy-cache}):
+ * bodies are stored once per SHA-256, so the same bundle under two URLs takes space once, and the least
+ * recently used URLs are evicted beyond {@code -Dproxy.cache.maxMb} (default 512). Entries are fresh for their
+ * {@code max-age} (or {@code -Dproxy.cache.ttlMinutes}, default 60) and revalidated with
+ * {@code If-None-Match} / {@code If-Modified-Since} afterwards. API calls, other methods and range requests
+ * bypass the cache. HTTPS is tunnelled with {@code CONNECT} and cannot be cached without intercepting TLS.
+ */
+public final class CachingProxy implements AutoCloseable {
+    private static final Set<String> STATIC_EXTENSIONS = Set.of("js", "mjs", "css", "woff", "woff2", "ttf", "otf",
+        "eot", "png", "jpg", "jpeg", "gif", "svg", "webp", "avif", "ico");
+    // Hop-by-hop headers, and headers java.net.http sets itself
+    private static final Set<String> SKIPPED_HEADERS = Set.of("connection", "keep-alive", "proxy-connection",
+        "proxy-authorization", "te", "trailer", "transfer-encoding", "upgrade", "host", "content-length", "expect",
+        "date", "via", "warning", "from");
+    private static final int MAX_HEADER_BYTES = 64 * 1024;
+
+    private static CachingProxy shared;
+
+    private final Path directory;
+    private final long maxBytes;
+    private final Duration defaultTtl;
+    private final HttpClient client = HttpClient.newBuilder()
+        .followRedirects(HttpClient.Redirect.NEVER)
+        .connectTimeout(Duration.ofSeconds(15))
+        .build();
+    // Cache key -> entry, in access order so the first entry is the least recently used
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+    // Content hash -> number of entries sharing the body
+    private final Map<String, Integer> contentRefs = new HashMap<>();
+    private long storedBytes;
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong revalidated = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong bypassed = new AtomicLong();
+    private final AtomicLong tunnels = new AtomicLong();
+    private final AtomicLong bytesSaved = new AtomicLong();
+    private final AtomicLong bytesFetched = new AtomicLong();
+
+    private ServerSocket server;
+    private ExecutorService executor;
+
+    public CachingProxy(Path directory, long maxBytes, Duration defaultTtl) {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+        this.defaultTtl = defaultTtl;
+    }
+
+    /**
+     * The suite-wide proxy, started on first use, or null unless {@code -Dproxy.cache=true}.
+     */
+    public static synchronized CachingProxy shared() {
+        if (!Boolean.getBoolean("proxy.cache")) {
+            return null;
+        }
+        if (shared == null) {
+            shared = new CachingProxy(Paths.get(System.getProperty("proxy.cache.dir", "target/proxy-cache")),
+                Long.getLong("proxy.cache.maxMb", 512L) * 1024 * 1024,
+                Duration.ofMinutes(Long.getLong("proxy.cache.ttlMinutes", 60L)));
+            shared.start();
+            System.out.println("Caching proxy listening on " + shared.address());
+            if (SiteConfig.baseUrl().startsWith("https:")) {
+                System.out.println("Warning: " + SiteConfig.baseUrl() + " is HTTPS; its assets are tunnelled, "
+                    + "not cached");
+            }
+            Runtime.getRuntime().addShutdownHook(new Thread(shared::close, "caching-proxy-close"));
+        }
+        return shared;
+    }
+
+    /**
+     * Prints the shared proxy's statistics, if it was started.
+     */
+    public static synchronized void printSharedReport() {
+        if (shared != null) {
+            shared.printReport();
+        }
+    }
+
+    public synchronized void start() {
+        if (server != null) {
+            return;
+        }
+        try {
+            Files.createDirectories(directory.resolve("objects"));
+            loadIndex();
+            server = new ServerSocket();
+            server.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to start caching proxy: " + e.getMessage(), e);
+        }
+        executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "caching-proxy");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ServerSocket listening = server;
+        executor.execute(() -> {
+            while (!listening.isClosed()) {
+                try {
+                    Socket socket = listening.accept();
+                    executor.execute(() -> serveConnection(socket));
+                } catch (IOException e) {
+                    // Closed while waiting for a connection
+                }
+            }
+        });
+    }
+
+    /**
+     * {@code host:port} to pass as the browser's proxy.
+     */
+    public String address() {
+        return "127.0.0.1:" + server.getLocalPort();
+    }
+
+    public int port() {
+        return server.getLocalPort();
+    }
+
+    @Override
+    public synchronized void close() {
+        if (server == null) {
+            return;
+        }
+        try {
+            server.close();
+        } catch (IOException ignored) {
+            // Already closed
+        }
+        executor.shutdownNow();
+        server = null;
+        saveIndex();
+    }
+
+    /**
+     * Prints hit ratio, revalidations, bypassed and tunnelled requests and the bytes served from disk.
+     */
+    public void printReport() {
+        long cacheable = hits.get() + revalidated.get() + misses.get();
+        System.out.println(String.format("\n=== Caching Proxy ===\nrequests=%d hits=%d revalidated=%d misses=%d "
+                + "hitRatio=%.1f%% bypassed=%d tunnels=%d saved=%.1f MB fetched=%.1f MB cached=%.1f MB",
+            requests.get(), hits.get(), revalidated.get(), misses.get(),
+            cacheable == 0 ? 0.0 : 100.0 * (hits.get() + revalidated.get()) / cacheable, bypassed.get(),
+            tunnels.get(), bytesSaved.get() / 1048576.0, bytesFetched.get() / 1048576.0, storedBytes / 1048576.0));
+    }
+
+    private void serveConnection(Socket socket) {
+        try (Socket client = socket) {
+            client.setSoTimeout(120_000);
+            InputStream in = new BufferedInputStream(client.getInputStream());
+            OutputStream out = client.getOutputStream();
+            while (true) {
+                RequestHead head = RequestHead.read(in);
+                if (head == null) {
+                    return;
+                }
+                if ("CONNECT".equals(head.method)) {
+                    tunnel(client, in, out, head.target);
+                    return;
+                }
+                if (head.chunked) {
+                    writeResponse(out, "HEAD", 411, Map.of(), new byte[0], true);
+                    return;
+                }
+                byte[] body = head.contentLength > 0 ? in.readNBytes(head.contentLength) : new byte[0];
+                ProxyResponse response = serve(head, body);
+                boolean close = "close".equalsIgnoreCase(head.header("proxy-connection"))
+                    || "close".equalsIgnoreCase(head.header("connection"));
+                writeResponse(out, head.method, response.status, response.headers, response.body, close);
+                if (close) {
+                    return;
+                }
+            }
+        } catch (IOException e) {
+            // Browser closed the connection
+        }
+    }
+
+    private ProxyResponse serve(RequestHead head, byte[] body) {
+        requests.incrementAndGet();
+        URI uri;
+        try {
+            uri = URI.create(head.target);
+        } catch (IllegalArgumentException e) {
+            return ProxyResponse.error(400, "Bad request target " + head.target);
+        }
+        if (!uri.isAbsolute() || !"http".equalsIgnoreCase(uri.getScheme())) {
+            return ProxyResponse.error(400, "Only absolute http:// targets are proxied");
+        }
+
+        if (!isCacheable(head, uri)) {
+            bypassed.incrementAndGet();
+            return forward(head, uri, body, null);
+        }
+
+        String key = head.target + "\n" + head.header("accept-encoding");
+        Entry cached;
+        synchronized (this) {
+            cached = entries.get(key);
+        }
+        if (cached != null && cached.isFresh(defaultTtl)) {
+            ProxyResponse response = fromCache(cached);
+            if (response != null) {
+                hits.incrementAndGet();
+                return response;
+            }
+        }
+
+        Map<String, String> conditions = new LinkedHashMap<>();
+        if (cached != null && cached.headers.etag != null) {
+            conditions.put("If-None-Match", cached.headers.etag);
+        }
+        if (cached != null && cached.headers.lastModified != null) {
+            conditions.put("If-Modified-Since", cached.headers.lastModified);
+        }
+        // Without validators of our own the browser's conditional headers go through as they are
+        ProxyResponse response = forward(head, uri, body, conditions.isEmpty() ? null : conditions);
+        if (response.status == 304 && !conditions.isEmpty()) {
+            cached.storedAt = System.currentTimeMillis();
+            ProxyResponse revalidatedResponse = fromCache(cached);
+            if (revalidatedResponse != null) {
+                revalidated.incrementAndGet();
+                return revalidatedResponse;
+            }
+            // The 304 confirmed a body we no longer have, and the browser may not have it either
+            response = forward(head, uri, body, Map.of());
+        }
+        misses.incrementAndGet();
+        if (response.status == 200) {
+            store(key, response);
+        }
+        return response;
+    }
+
+    private static boolean isCacheable(RequestHead head, URI uri) {
+        if (!"GET".equals(head.method) || head.header("range") != null || head.header("authorization") != null) {
+            return false;
+        }
+        String path = uri.getPath() == null ? "" : uri.getPath().toLowerCase(Locale.ROOT);
+        if (path.contains("/api/") || String.valueOf(head.header("accept")).contains("application/json")) {
+            return false;
+        }
+        int dot = path.lastIndexOf('.');
+        return dot > path.lastIndexOf('/') && STATIC_EXTENSIONS.contains(path.substring(dot + 1));
+    }
+
+    // conditions replaces the browser's If-* headers (empty: send none); null passes the browser's through
+    private ProxyResponse forward(RequestHead head, URI uri, byte[] body, Map<String, String> conditions) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(60))
+            .method(head.method, body.length == 0 ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofByteArray(body));
+        head.headers.forEach((name, values) -> {
+            if (!SKIPPED_HEADERS.contains(name) && !(conditions != null && name.startsWith("if-"))) {
+                values.forEach(value -> request.header(name, value));
+            }
+        });
+        if (conditions != null) {
+            conditions.forEach(request::header);
+        }
+        try {
+            HttpResponse<byte[]> response = client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+            bytesFetched.addAndGet(response.body().length);
+            return new ProxyResponse(response.statusCode(), headerMap(response.headers()), response.body());
+        } catch (IOException e) {
+            return ProxyResponse.error(502, "Upstream request failed: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return ProxyResponse.error(502, "Interrupted");
+        }
+    }
+
+    private ProxyResponse fromCache(Entry entry) {
+        try {
+            byte[] body = Files.readAllBytes(objectFile(entry.contentHash));
+            bytesSaved.addAndGet(body.length);
+            return new ProxyResponse(200, entry.headers.toMap(), body);
+        } catch (IOException e) {
+            // The object was deleted underneath us; fetch it again
+            synchronized (this) {
+                remove(entry.key);
+            }
+            return null;
+        }
+    }
+
+    private void store(String key, ProxyResponse response) {
+        String cacheControl = response.firstHeader("cache-control").toLowerCase(Locale.ROOT);
+        if (cacheControl.contains("no-store") || cacheControl.contains("private")
+            || response.body.length > maxBytes / 4) {
+            return;
+        }
+        StoredHeaders headers = new StoredHeaders(response.firstHeader("content-type"),
+            response.firstHeader("content-encoding"), emptyToNull(response.firstHeader("etag")),
+            emptyToNull(response.firstHeader("last-modified")), maxAge(cacheControl),
+            cacheControl.contains("immutable"));
+        Entry entry = new Entry(key, sha256(response.body), response.body.length, System.currentTimeMillis(),
+            headers);
+        try {
+            Path object = objectFile(entry.contentHash);
+            if (!Files.exists(object)) {
+                Path temp = Files.createTempFile(object.getParent(), "object", ".tmp");
+                Files.write(temp, response.body);
+                Files.move(temp, object, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+        } catch (IOException e) {
+            System.out.println("Warning: Could not cache " + key.split("\n")[0] + ": " + e.getMessage());
+            return;
+        }
+        synchronized (this) {
+            remove(key);
+            entries.put(key, entry);
+            if (contentRefs.merge(entry.contentHash, 1, Integer::sum) == 1) {
+                storedBytes += entry.size;
+            }
+            evict();
+        }
+    }
+
+    // Drops least recently used entries until the unique content fits
+    private void evict() {
+        Iterator<Entry> eldest = entries.values().iterator();
+        while (storedBytes > maxBytes && eldest.hasNext()) {
+            Entry entry = eldest.next();
+            eldest.remove();
+            release(entry);
+        }
+    }
+
+    private void remove(String key) {
+        Entry removed = entries.remove(key);
+        if (removed != null) {
+            release(removed);
+        }
+    }
+
+    private void release(Entry entry) {
+        int refs = contentRefs.merge(entry.contentHash, -1, Integer::sum);
+        if (refs <= 0) {
+            contentRefs.remove(entry.contentHash);
+            storedBytes -= entry.size;
+            try {
+                Files.deleteIfExists(objectFile(entry.contentHash));
+            } catch (IOException ignored) {
+                // Removed on the next start if still orphaned
+            }
+        }
+    }
+
+    private void tunnel(Socket client, InputStream clientIn, OutputStream clientOut, String target) {
+        tunnels.incrementAndGet();
+        requests.incrementAndGet();
+        int colon = target.lastIndexOf(':');
+        String host = colon > 0 ? target.substring(0, colon) : target;
+        int port = colon > 0 ? Integer.parseInt(target.substring(colon + 1)) : 443;
+        try (Socket upstream = new Socket()) {
+            upstream.connect(new InetSocketAddress(host, port), 15_000);
+            clientOut.write("HTTP/1.1 200 Connection Established\r\n\r\n".getBytes(StandardCharsets.ISO_8859_1));
+            clientOut.flush();
+            InputStream upstreamIn = upstream.getInputStream();
+            OutputStream upstreamOut = upstream.getOutputStream();
+            executor.execute(() -> pipe(upstreamIn, clientOut, client));
+            pipe(clientIn, upstreamOut, upstream);
+        } catch (IOException | RuntimeException e) {
+            try {
+                writeResponse(clientOut, "CONNECT", 502, Map.of(), new byte[0], true);
+            } catch (IOException ignored) {
+                // Browser already gone
+            }
+        }
+    }
+
+    private static void pipe(InputStream in, OutputStream out, Socket closeWhenDone) {
+        byte[] buffer = new byte[16 * 1024];
+        try {
+            int read;
+            while ((read = in.read(buffer)) >= 0) {
+                out.write(buffer, 0, read);
+                out.flush();
+            }
+        } catch (IOException ignored) {
+            // Either side closed the tunnel
+        } finally {
+            try {
+                closeWhenDone.shutdownOutput();
+            } catch (IOException ignored) {
+                // Already closed
+            }
+        }
+    }
+
+    private static void writeResponse(OutputStream out, String method, int status, Map<String, List<String>> headers,
+                                      byte[] body, boolean close) throws IOException {
+        StringBuilder head = new StringBuilder("HTTP/1.1 ").append(status).append(' ').append(reason(status))
+            .append("\r\n");
+        headers.forEach((name, values) -> {
+            if (!SKIPPED_HEADERS.contains(name)) {
+                values.forEach(value -> head.append(name).append(": ").append(value).append("\r\n"));
+            }
+        });
+        head.append("Content-Length: ").append(body.length).append("\r\n");
+        head.append("Connection: ").append(close ? "close" : "keep-alive").append("\r\n\r\n");
+        out.write(head.toString().getBytes(StandardCharsets.ISO_8859_1));
+        if (!"HEAD".equals(method)) {
+            out.write(body);
+        }
+        out.flush();
+    }
+
+    private static String reason(int status) {
+        switch (status) {
+            case 200:
+                return "OK";
+            case 304:
+                return "Not Modified";
+            case 400:
+                return "Bad Request";
+            case 411:
+                return "Length Required";
+            case 502:
+                return "Bad Gateway";
+            default:
+                return "Status";
+        }
+    }
+
+    private static Map<String, List<String>> headerMap(HttpHeaders headers) {
+        Map<String, List<String>> map = new LinkedHashMap<>();
+        headers.map().forEach((name, values) -> map.put(name.toLowerCase(Locale.ROOT), values));
+        return map;
+    }
+
+    private static long maxAge(String cacheControl) {
+        if (cacheControl.contains("no-cache")) {
+            return 0;
+        }
+        int index = cacheControl.indexOf("max-age=");
+        if (index < 0) {
+            return -1;
+        }
+        int end = index + 8;
+        while (end < cacheControl.length() && Character.isDigit(cacheControl.charAt(end))) {
+            end++;
+        }
+        try {
+            return Long.parseLong(cacheControl.substring(index + 8, end));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private Path objectFile(String contentHash) {
+        return directory.resolve("objects").resolve(contentHash);
+    }
+
+    private static String sha256(byte[] body) {
+        try {
+            StringBuilder hex = new StringBuilder(64);
+            for (byte b : MessageDigest.getInstance("SHA-256").digest(body)) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("SHA-256 unavailable", e);
+        }
+    }
+
+    private static String emptyToNull(String value) {
+        return value.isEmpty() ? null : value;
+    }
+
+    // index.tsv: one entry per line, least recently used first, so the access order survives restarts
+    private synchronized void loadIndex() throws IOException {
+        Path index = directory.resolve("index.tsv");
+        if (!Files.isRegularFile(index)) {
+            return;
+        }
+        for (String line : Files.readAllLines(index, StandardCharsets.UTF_8)) {
+            Entry entry = Entry.parse(line);
+            if (entry != null && Files.isRegularFile(objectFile(entry.contentHash))) {
+                entries.put(entry.key, entry);
+                if (contentRefs.merge(entry.contentHash, 1, Integer::sum) == 1) {
+                    storedBytes += entry.size;
+                }
+            }
+        }
+        evict();
+    }
+
+    private synchronized void saveIndex() {
+        List<String> lines = new ArrayList<>(entries.size());
+        entries.values().forEach(entry -> lines.add(entry.format()));
+        try {
+            Files.write(directory.resolve("index.tsv"), lines, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            System.out.println("Warning: Could not save proxy cache index: " + e.getMessage());
+        }
+    }
+
+    /**
+     * One cached URL (per Accept-Encoding) and the body it maps to.
+     */
+    private static final class Entry {
+        private final String key;
+        private final String contentHash;
+        private final long size;
+        private final StoredHeaders headers;
+        private volatile long storedAt;
+
+        private Entry(String key, String contentHash, long size, long storedAt, StoredHeaders headers) {
+            this.key = key;
+            this.contentHash = contentHash;
+            this.size = size;
+            this.storedAt = storedAt;
+            this.headers = headers;
+        }
+
+        private boolean isFresh(Duration defaultTtl) {
+            if (headers.immutable) {
+                return true;
+            }
+            long ttlMillis = headers.maxAgeSeconds >= 0 ? headers.maxAgeSeconds * 1000 : defaultTtl.toMillis();
+            return System.currentTimeMillis() - storedAt < ttlMillis;
+        }
+
+        private String format() {
+            return String.join("\t", key.replace("\n", "\\n"), contentHash, headers.contentType,
+                headers.contentEncoding, headers.etag == null ? "" : headers.etag,
+                headers.lastModified == null ? "" : headers.lastModified, Long.toString(storedAt),
+                Long.toString(headers.maxAgeSeconds), Boolean.toString(headers.immutable), Long.toString(size));
+        }
+
+        private static Entry parse(String line) {
+            String[] fields = line.split("\t", -1);
+            if (fields.length != 10) {
+                return null;
+            }
+            try {
+                StoredHeaders headers = new StoredHeaders(fields[2], fields[3], emptyToNull(fields[4]),
+                    emptyToNull(fields[5]), Long.parseLong(fields[7]), Boolean.parseBoolean(fields[8]));
+                return new Entry(fields[0].replace("\\n", "\n"), fields[1], Long.parseLong(fields[9]),
+                    Long.parseLong(fields[6]), headers);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * The response headers a cached body is served and revalidated with, and its freshness lifetime.
+     */
+    private static final class StoredHeaders {
+        private final String contentType;
+        private final String contentEncoding;
+        private final String etag;
+        private final String lastModified;
+        private final long maxAgeSeconds;
+        private final boolean immutable;
+
+        private StoredHeaders(String contentType, String contentEncoding, String etag, String lastModified,
+                              long maxAgeSeconds, boolean immutable) {
+            this.contentType = contentType;
+            this.contentEncoding = contentEncoding;
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.maxAgeSeconds = maxAgeSeconds;
+            this.immutable = immutable;
+        }
+
+        private Map<String, List<String>> toMap() {
+            Map<String, List<String>> headers = new LinkedHashMap<>();
+            if (!contentType.isEmpty()) {
+                headers.put("content-type", List.of(contentType));
+            }
+            if (!contentEncoding.isEmpty()) {
+                headers.put("content-encoding", List.of(contentEncoding));
+            }
+            if (etag != null) {
+                headers.put("etag", List.of(etag));
+            }
+            if (lastModified != null) {
+                headers.put("last-modified", List.of(lastModified));
+            }
+            headers.put("x-cache", List.of("HIT"));
+            return headers;
+        }
+    }
+
+    private static final class ProxyResponse {
+        private final int status;
+        private final Map<String, List<String>> headers;
+        private final byte[] body;
+
+        private ProxyResponse(int status, Map<String, List<String>> headers, byte[] body) {
+            this.status = status;
+            this.headers = headers;
+            this.body = body;
+        }
+
+        private static ProxyResponse error(int status, String message) {
+            return new ProxyResponse(status, Map.of("content-type", List.of("text/plain; charset=utf-8")),
+                message.getBytes(StandardCharsets.UTF_8));
+        }
+
+        private String firstHeader(String name) {
+            List<String> values = headers.get(name);
+            return values == null || values.isEmpty() ? "" : values.get(0);
+        }
+    }
+
+    // Request line and headers of one proxied request; header names are lower-cased
+    private static final class RequestHead {
+        private final String method;
+        private final String target;
+        private final Map<String, List<String>> headers = new LinkedHashMap<>();
+        private int contentLength;
+        private boolean chunked;
+
+        private RequestHead(String method, String target) {
+            this.method = method;
+            this.target = target;
+        }
+
+        private String header(String name) {
+            List<String> values = headers.get(name);
+            return values == null || values.isEmpty() ? null : values.get(0);
+        }
+
+        // Null at end of stream
+        private static RequestHead read(InputStream in) throws IOException {
+            String requestLine = readLine(in);
+            while (requestLine != null && requestLine.isEmpty()) {
+                requestLine = readLine(in);
+            }
+            if (requestLine == null) {
+                return null;
+            }
+            String[] parts = requestLine.split(" ");
+            if (parts.length < 2) {
+                throw new IOException("Malformed request line: " + requestLine);
+            }
+            RequestHead head = new RequestHead(parts[0].toUpperCase(Locale.ROOT), parts[1]);
+            String line;
+            while ((line = readLine(in)) != null && !line.isEmpty()) {
+                int colon = line.indexOf(':');
+                if (colon > 0) {
+                    head.headers.computeIfAbsent(line.substring(0, colon).trim().toLowerCase(Locale.ROOT),
+                        name -> new ArrayList<>()).add(line.substring(colon + 1).trim());
+                }
+            }
+            String length = head.header("content-length");
+            head.contentLength = length == null ? 0 : Integer.parseInt(length.trim());
+            head.chunked = String.valueOf(head.header("transfer-encoding")).toLowerCase(Locale.ROOT)
+                .contains("chunked");
+            return head;
+        }
+
+        private static String readLine(InputStream in) throws IOException {
+            ByteArrayOutputStream line = new ByteArrayOutputStream(128);
+            int c;
+            while ((c = in.read()) >= 0) {
+                if (c == '\n') {
+                    break;
+                }
+                if (c != '\r') {
+                    line.write(c);
+                }
+                if (line.size() > MAX_HEADER_BYTES) {
+                    throw new IOException("Header line too long");
+                }
+            }
+            if (c < 0 && line.size() == 0) {
+                return null;
+            }
+            return line.toString(StandardCharsets.ISO_8859_1);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.travel.utils;
+
+import java.util.Map;
+import java.util.Optional;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+
+/**
+ * Version-independent access to the Chrome DevTools Protocol.
+ *
+ * Commands and events are addressed by their protocol names and exchanged as plain maps, so the framework
+ * does not depend on the versioned {@code org.openqa.selenium.devtools.vNNN} bindings matching the installed
+ * browser. Every feature shares the driver's single DevTools connection.
+ */
+public final class DevToolsSupport {
+    private DevToolsSupport() {
+    }
+
+    /**
+     * Returns the driver's DevTools connection with a session attached, or empty when the browser has no CDP.
+     */
+    public static Optional<DevTools> session(WebDriver driver) {
+        if (!(driver instanceof HasDevTools)) {
+            return Optional.empty();
+        }
+        try {
+            Optional<DevTools> devTools = ((HasDevTools) driver).maybeGetDevTools();
+            devTools.ifPresent(DevTools::createSessionIfThereIsNotOne);
+            return devTools;
+        } catch (Exception e) {
+            System.out.println("Warning: DevTools unavailable: " + e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Sends a protocol command and returns its result object.
+     */
+    public static Map<String, Object> send(DevTools devTools, String method, Map<String, Object> params) {
+        return devTools.send(new Command<Map<String, Object>>(method, params, Json.MAP_TYPE));
+    }
+
+    /**
+     * Describes a protocol event whose parameters are delivered as a map.
+     */
+    public static Event<Map<String, Object>> event(String method) {
+        return new Event<>(method, input -> input.read(Json.MAP_TYPE));
+    }
+}
@@ -0,0 +1,311 @@
+package com.travel.utils;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.ChromiumDriver;
+
+/**
+ * Bounded pool of pre-warmed WebDriver sessions.
+ *
+ * Tests lease a session with {@link #acquire(String)} and hand it back with {@link #release(WebDriver)}
+ * instead of launching and quitting a browser each time. Sessions are reset (cookies, storage, extra tabs)
+ * when they come back, and evicted when they stop responding or have served {@code driver.pool.maxLeases}
+ * tests. Setting {@code driver.pool.size} to 0 disables pooling: every lease is a fresh browser.
+ */
+public final class DriverPool {
+    private static volatile int maxSessions = Integer.getInteger("driver.pool.size",
+        Math.max(2, Integer.getInteger("threads", 1)));
+    private static final int MAX_LEASES = Integer.getInteger("driver.pool.maxLeases", 25);
+    private static final long ACQUIRE_TIMEOUT_MS = Long.getLong("driver.pool.acquireTimeoutMs", 120_000L);
+
+    private static final Object LOCK = new Object();
+    private static final Map<String, Deque<PooledSession>> IDLE = new HashMap<>();
+    private static final Map<WebDriver, PooledSession> LEASED = new IdentityHashMap<>();
+    private static int liveSessions = 0;
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(DriverPool::shutdown, "driver-pool-shutdown"));
+    }
+
+    private DriverPool() {
+    }
+
+    private static final class PooledSession {
+        private final String browserType;
+        private final WebDriver driver;
+        private int leases;
+
+        private PooledSession(String browserType, WebDriver driver) {
+            this.browserType = browserType;
+            this.driver = driver;
+        }
+    }
+
+    /**
+     * Raises the session limit so that {@code sessions} tests can hold a driver at the same time.
+     */
+    public static void ensureCapacity(int sessions) {
+        synchronized (LOCK) {
+            if (maxSessions > 0 && sessions > maxSessions) {
+                maxSessions = sessions;
+                LOCK.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Starts up to {@code count} idle sessions in parallel so the first tests do not pay browser startup.
+     */
+    public static void prewarm(String browserType, int count) {
+        String key = browserType.toLowerCase();
+        List<Future<?>> launches = new ArrayList<>();
+        ExecutorService launcher = Executors.newCachedThreadPool();
+        try {
+            for (int i = 0; i < count; i++) {
+                synchronized (LOCK) {
+                    if (liveSessions >= maxSessions) {
+                        break;
+                    }
+                    liveSessions++;
+                }
+                launches.add(launcher.submit(() -> {
+                    PooledSession session;
+                    try {
+                        session = create(key);
+                    } catch (RuntimeException e) {
+                        synchronized (LOCK) {
+                            liveSessions--;
+                            LOCK.notifyAll();
+                        }
+                        throw e;
+                    }
+                    synchronized (LOCK) {
+                        IDLE.computeIfAbsent(key, k -> new ArrayDeque<>()).push(session);
+                        LOCK.notifyAll();
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> launch : launches) {
+                try {
+                    launch.get();
+                } catch (Exception e) {
+                    System.out.println("Warning: Could not pre-warm driver session: " + e.getMessage());
+                }
+            }
+        } finally {
+            launcher.shutdown();
+        }
+        System.out.println("Driver pool pre-warmed " + idleCount(key) + " " + key + " session(s)");
+    }
+
+    /**
+     * Leases a ready session, reusing an idle one when available and launching a new one while under capacity.
+     */
+    public static WebDriver acquire(String browserType) {
+        String key = browserType.toLowerCase();
+        long deadline = System.currentTimeMillis() + ACQUIRE_TIMEOUT_MS;
+        while (true) {
+            PooledSession reusable = null;
+            PooledSession victim = null;
+            boolean launch = false;
+            synchronized (LOCK) {
+                Deque<PooledSession> idle = IDLE.get(key);
+                if (idle != null && !idle.isEmpty()) {
+                    reusable = idle.pop();
+                } else if (liveSessions < maxSessions || maxSessions <= 0) {
+                    liveSessions++;
+                    launch = true;
+                } else {
+                    // At capacity: recycle an idle session of another browser type before blocking
+                    victim = pollIdleOfOtherType(key);
+                    if (victim == null) {
+                        long remaining = deadline - System.currentTimeMillis();
+                        if (remaining <= 0) {
+                            throw new RuntimeException("Timed out waiting for a free " + key + " driver session");
+                        }
+                        try {
+                            LOCK.wait(remaining);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            throw new RuntimeException("Interrupted while waiting for a driver session", e);
+                        }
+                        continue;
+                    }
+                    launch = true;
+                }
+            }
+
+            if (victim != null) {
+                quitQuietly(victim.driver);
+            }
+            if (reusable != null && !isHealthy(reusable.driver)) {
+                evict(reusable);
+                continue;
+            }
+            PooledSession session = reusable;
+            if (launch) {
+                try {
+                    session = create(key);
+                } catch (RuntimeException e) {
+                    synchronized (LOCK) {
+                        liveSessions--;
+                        LOCK.notifyAll();
+                    }
+                    throw e;
+                }
+            }
+            synchronized (LOCK) {
+                session.leases++;
+                LEASED.put(session.driver, session);
+            }
+            return session.driver;
+        }
+    }
+
+    /**
+     * Returns a leased session to the pool after resetting it. Sessions that fail to reset or have reached
+     * their lease budget are quit instead.
+     */
+    public static void release(WebDriver driver) {
+        PooledSession session;
+        synchronized (LOCK) {
+            session = LEASED.remove(driver);
+        }
+        if (session == null) {
+            // Not one of ours; nothing to recycle
+            quitQuietly(driver);
+            return;
+        }
+        WebDriverFactory.measureRss(session.driver);
+        if (maxSessions <= 0 || session.leases >= MAX_LEASES || !reset(session.driver)) {
+            evict(session);
+            return;
+        }
+        synchronized (LOCK) {
+            IDLE.computeIfAbsent(session.browserType, k -> new ArrayDeque<>()).push(session);
+            LOCK.notifyAll();
+        }
+    }
+
+    /**
+     * Quits a leased session without returning it to the pool, e.g. after the browser crashed.
+     */
+    public static void discard(WebDriver driver) {
+        PooledSession session;
+        synchronized (LOCK) {
+            session = LEASED.remove(driver);
+        }
+        if (session != null) {
+            evict(session);
+        } else {
+            quitQuietly(driver);
+        }
+    }
+
+    /**
+     * Quits every idle and leased session.
+     */
+    public static void shutdown() {
+        List<WebDriver> drivers = new ArrayList<>();
+        synchronized (LOCK) {
+            IDLE.values().forEach(idle -> idle.forEach(session -> drivers.add(session.driver)));
+            drivers.addAll(LEASED.keySet());
+            IDLE.clear();
+            LEASED.clear();
+            liveSessions = 0;
+            LOCK.notifyAll();
+        }
+        drivers.forEach(DriverPool::quitQuietly);
+    }
+
+    private static PooledSession create(String browserType) {
+        long start = System.nanoTime();
+        WebDriver driver = WebDriverFactory.createDriver(browserType);
+        System.out.println(String.format("Driver pool launched %s session in %d ms", browserType,
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)));
+        return new PooledSession(browserType, driver);
+    }
+
+    private static PooledSession pollIdleOfOtherType(String browserType) {
+        for (Map.Entry<String, Deque<PooledSession>> entry : IDLE.entrySet()) {
+            if (!entry.getKey().equals(browserType) && !entry.getValue().isEmpty()) {
+                return entry.getValue().pollLast();
+            }
+        }
+        return null;
+    }
+
+    private static int idleCount(String browserType) {
+        synchronized (LOCK) {
+            Deque<PooledSession> idle = IDLE.get(browserType);
+            return idle == null ? 0 : idle.size();
+        }
+    }
+
+    private static boolean isHealthy(WebDriver driver) {
+        try {
+            return !driver.getWindowHandles().isEmpty();
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    // Brings a session back to a blank single-tab state with no cookies or web storage
+    private static boolean reset(WebDriver driver) {
+        try {
+            List<String> handles = new ArrayList<>(driver.getWindowHandles());
+            for (int i = 1; i < handles.size(); i++) {
+                driver.switchTo().window(handles.get(i));
+                driver.close();
+            }
+            driver.switchTo().window(handles.get(0));
+
+            try {
+                // Storage is per-origin, so clear it before leaving the current page
+                ((JavascriptExecutor) driver).executeScript(
+                    "try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {}");
+            } catch (Exception ignored) {
+                // about:blank and some error pages have no storage
+            }
+            if (driver instanceof ChromiumDriver) {
+                ((ChromiumDriver) driver).executeCdpCommand("Network.clearBrowserCookies", Map.of());
+            } else {
+                driver.manage().deleteAllCookies();
+            }
+            driver.get("about:blank");
+            return true;
+        } catch (Exception e) {
+            System.out.println("Warning: Driver session failed to reset, evicting: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private static void evict(PooledSession session) {
+        quitQuietly(session.driver);
+        synchronized (LOCK) {
+            liveSessions--;
+            LOCK.notifyAll();
+        }
+    }
+
+    private static void quitQuietly(WebDriver driver) {
+        try {
+            WebDriverFactory.quitDriver(driver);
+        } catch (Exception ignored) {
+            // Session is already gone
+        }
+    }
+}
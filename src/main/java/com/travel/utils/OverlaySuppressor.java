@@ -0,0 +1,146 @@
+package com.travel.utils;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.DevTools;
+
+/**
+ * Hides banners, modals and notification iframes as soon as the page inserts them.
+ *
+ * Installed by {@link WebDriverFactory} through CDP {@code Page.addScriptToEvaluateOnNewDocument}, so the script
+ * runs at document start on every page the session's tab loads, before the site's own scripts. It adds a
+ * stylesheet for the known overlay selectors and a MutationObserver that neutralises matching nodes (and
+ * inline-styled layers with a z-index of 1000 or more) when they are inserted or restyled. Nodes are hidden,
+ * not removed, so the site's framework keeps a consistent DOM. Page objects can then skip their own overlay
+ * sweeps. {@code -Doverlay.suppress=false} turns it off.
+ */
+public final class OverlaySuppressor {
+    /**
+     * Runs at document start. Counts neutralised nodes in {@code window.__travelOverlaysSuppressed}.
+     */
+    static final String SUPPRESS_SCRIPT =
+        "(function() {" +
+        "   if (window.__travelOverlaySuppressor) { return; }" +
+        "   window.__travelOverlaySuppressor = true;" +
+        "   window.__travelOverlaysSuppressed = 0;" +
+        "   var selector = [" +
+        "       '.chNavIcon', '[class*=\"banner\"]', '[class*=\"overlay\"]', 'div[data-cy=\"NotificationModal\"]'," +
+        "       'div[data-cy=\"webklipper\"]', 'iframe[id*=\"notification\"]'" +
+        "   ].join(',');" +
+        "   function blocking(el) {" +
+        "       return el.tagName === 'DIV' && el.style && parseInt(el.style.zIndex, 10) >= 1000;" +
+        "   }" +
+        "   function neutralise(el) {" +
+        "       if (el.__travelSuppressed) { return; }" +
+        "       el.__travelSuppressed = true;" +
+        "       el.style.setProperty('display', 'none', 'important');" +
+        "       el.style.setProperty('pointer-events', 'none', 'important');" +
+        "       window.__travelOverlaysSuppressed++;" +
+        "   }" +
+        "   function check(el) {" +
+        "       if (!el || el.nodeType !== 1 || el.__travelSuppressed) { return; }" +
+        "       if (el.matches(selector) || blocking(el)) { neutralise(el); return; }" +
+        "       if (el.firstElementChild) {" +
+        "           el.querySelectorAll(selector).forEach(neutralise);" +
+        "           el.querySelectorAll('div[style*=\"z-index\"]').forEach(function(d) {" +
+        "               if (blocking(d)) { neutralise(d); }" +
+        "           });" +
+        "       }" +
+        "   }" +
+        "   var observer = new MutationObserver(function(mutations) {" +
+        "       for (var i = 0; i < mutations.length; i++) {" +
+        "           var mutation = mutations[i];" +
+        // A restyled node is checked on its own; its subtree was checked when inserted
+        "           if (mutation.type === 'attributes') {" +
+        "               var target = mutation.target;" +
+        "               if (!target.__travelSuppressed && (target.matches(selector) || blocking(target))) {" +
+        "                   neutralise(target);" +
+        "               }" +
+        "           } else {" +
+        "               for (var j = 0; j < mutation.addedNodes.length; j++) { check(mutation.addedNodes[j]); }" +
+        "           }" +
+        "       }" +
+        "   });" +
+        "   function start() {" +
+        "       var style = document.createElement('style');" +
+        "       style.textContent = selector + '{display:none !important;pointer-events:none !important;}';" +
+        "       (document.head || document.documentElement).appendChild(style);" +
+        "       observer.observe(document.documentElement, {childList: true, subtree: true, attributes: true," +
+        "           attributeFilter: ['class', 'style']});" +
+        "       check(document.documentElement);" +
+        "   }" +
+        "   if (document.documentElement) {" +
+        "       start();" +
+        "   } else {" +
+        "       new MutationObserver(function(records, waiting) {" +
+        "           if (document.documentElement) { waiting.disconnect(); start(); }" +
+        "       }).observe(document, {childList: true});" +
+        "   }" +
+        "})();";
+
+    private static final Set<WebDriver> INSTALLED = Collections.newSetFromMap(
+        Collections.synchronizedMap(new WeakHashMap<>()));
+
+    private OverlaySuppressor() {
+    }
+
+    /**
+     * Registers the suppression script for every document the session's tab loads. Browsers without CDP are
+     * left untouched.
+     */
+    public static void install(WebDriver driver) {
+        if (!Boolean.parseBoolean(System.getProperty("overlay.suppress", "true"))) {
+            return;
+        }
+        Optional<DevTools> session = DevToolsSupport.session(driver);
+        if (!session.isPresent()) {
+            System.out.println("Warning: Overlay suppression needs Chrome DevTools, falling back to overlay sweeps");
+            return;
+        }
+        try {
+            DevToolsSupport.send(session.get(), "Page.addScriptToEvaluateOnNewDocument",
+                Map.of("source", SUPPRESS_SCRIPT));
+            INSTALLED.add(driver);
+        } catch (Exception e) {
+            System.out.println("Warning: Could not install overlay suppression: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Whether overlays are suppressed on this driver's pages, so explicit overlay sweeps can be skipped.
+     */
+    public static boolean isInstalled(WebDriver driver) {
+        return INSTALLED.contains(driver);
+    }
+
+    /**
+     * Number of nodes neutralised on the current page, or -1 when suppression is not installed.
+     */
+    public static long suppressedCount(WebDriver driver) {
+        if (!isInstalled(driver)) {
+            return -1;
+        }
+        Object count = ((JavascriptExecutor) driver).executeScript("return window.__travelOverlaysSuppressed || 0;");
+        return count instanceof Number ? ((Number) count).longValue() : 0;
+    }
+
+    /**
+     * Prints how many overlays were suppressed on the current page.
+     */
+    public static void printReport(WebDriver driver) {
+        try {
+            long count = suppressedCount(driver);
+            if (count >= 0) {
+                System.out.println("Overlays suppressed on current page: " + count);
+            }
+        } catch (Exception e) {
+            // Session already gone
+        }
+    }
+}
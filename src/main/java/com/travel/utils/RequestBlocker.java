@@ -0,0 +1,254 @@
+package com.travel.utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.regex.Pattern;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.DevTools;
+
+/**
+ * Blocks ads, trackers, notification widgets, fonts and (optionally) images at the network layer.
+ *
+ * Installed by {@link WebDriverFactory} through CDP {@code Network.setBlockedURLs}, so matching requests are
+ * never sent instead of being removed from the DOM after they have downloaded and rendered. Categories come
+ * from {@code -Dblock} (default {@code ads,trackers,notifications,fonts}; {@code none} disables blocking) and
+ * extra URL patterns from {@code -Dblock.patterns}. Blocked requests and transferred bytes are tracked per
+ * top-level page.
+ *
+ * Blocking and statistics cover the session's first tab only. The DevTools session is bound to that tab, and
+ * {@code Target.setAutoAttach} would only reach its iframes and workers. Tabs opened later (by
+ * {@code TabManager}, the search-engine comparison or {@code window.open}) load unblocked and do not appear in
+ * the report.
+ */
+public final class RequestBlocker {
+    /**
+     * Groups of URL patterns that can be blocked together.
+     */
+    public enum Category {
+        ADS("*doubleclick.net*", "*googlesyndication.com*", "*googleadservices.com*", "*adservice.google.*",
+            "*amazon-adsystem.com*", "*criteo.*", "*taboola.com*", "*outbrain.com*"),
+        TRACKERS("*google-analytics.com*", "*googletagmanager.com*", "*connect.facebook.net*", "*hotjar.com*",
+            "*clarity.ms*", "*clevertap*", "*moengage*", "*mixpanel.com*", "*app.link*", "*branch.io*"),
+        NOTIFICATIONS("*webklipper*", "*wigzo*", "*izooto*", "*pushcrew*", "*notification-frame*"),
+        FONTS("*.woff2*", "*.woff*", "*.ttf*", "*.otf*", "*fonts.googleapis.com*", "*fonts.gstatic.com*"),
+        IMAGES("*.png*", "*.jpg*", "*.jpeg*", "*.gif*", "*.webp*", "*.svg*", "*.ico*"),
+        CUSTOM();
+
+        private final List<String> patterns;
+
+        Category(String... patterns) {
+            this.patterns = List.of(patterns);
+        }
+
+        public List<String> getPatterns() {
+            return patterns;
+        }
+    }
+
+    private static final Map<WebDriver, RequestBlocker> BLOCKERS = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final Map<Pattern, Category> matchers = new LinkedHashMap<>();
+    private final List<PageStats> pages = new ArrayList<>();
+    // URLs of in-flight requests, so a blocked request can be attributed to its category
+    private final Map<String, String> inFlight = new HashMap<>();
+    private String mainFrameId;
+    private PageStats currentPage;
+
+    private RequestBlocker(Map<String, Category> patterns) {
+        patterns.forEach((glob, category) -> matchers.put(globToRegex(glob), category));
+    }
+
+    /**
+     * Applies the configured blocklist to a new session. Browsers without CDP are left untouched.
+     */
+    public static void install(WebDriver driver) {
+        Map<String, Category> patterns = configuredPatterns();
+        if (patterns.isEmpty()) {
+            return;
+        }
+        Optional<DevTools> session = DevToolsSupport.session(driver);
+        if (!session.isPresent()) {
+            System.out.println("Warning: Request blocking needs Chrome DevTools, skipping for this browser");
+            return;
+        }
+        DevTools devTools = session.get();
+        RequestBlocker blocker = new RequestBlocker(patterns);
+        try {
+            Map<String, Object> frameTree = DevToolsSupport.send(devTools, "Page.getFrameTree", Map.of());
+            Map<?, ?> mainFrame = (Map<?, ?>) ((Map<?, ?>) frameTree.get("frameTree")).get("frame");
+            blocker.mainFrameId = String.valueOf(mainFrame.get("id"));
+
+            devTools.addListener(DevToolsSupport.event("Network.requestWillBeSent"), blocker::onRequest);
+            devTools.addListener(DevToolsSupport.event("Network.loadingFailed"), blocker::onLoadingFailed);
+            devTools.addListener(DevToolsSupport.event("Network.loadingFinished"), blocker::onLoadingFinished);
+            DevToolsSupport.send(devTools, "Network.enable", Map.of());
+            DevToolsSupport.send(devTools, "Network.setBlockedURLs",
+                Map.of("urls", new ArrayList<>(patterns.keySet())));
+            BLOCKERS.put(driver, blocker);
+        } catch (Exception e) {
+            System.out.println("Warning: Could not install request blocking: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the blocker installed on a driver, if any.
+     */
+    public static Optional<RequestBlocker> forDriver(WebDriver driver) {
+        return Optional.ofNullable(BLOCKERS.get(driver));
+    }
+
+    /**
+     * Prints and clears the per-page statistics collected on a driver since the last report.
+     */
+    public static void printReport(WebDriver driver) {
+        forDriver(driver).ifPresent(blocker -> {
+            List<PageStats> report = blocker.drainPages();
+            if (!report.isEmpty()) {
+                System.out.println("\n=== Blocked Requests (first tab) ===");
+                report.forEach(System.out::println);
+            }
+        });
+    }
+
+    /**
+     * Statistics for every page loaded since the last report, including the current one.
+     */
+    public synchronized List<PageStats> pages() {
+        return new ArrayList<>(pages);
+    }
+
+    private synchronized List<PageStats> drainPages() {
+        List<PageStats> drained = new ArrayList<>(pages);
+        pages.clear();
+        currentPage = null;
+        return drained;
+    }
+
+    private synchronized void onRequest(Map<String, Object> event) {
+        Map<?, ?> request = (Map<?, ?>) event.get("request");
+        boolean newDocument = "Document".equals(event.get("type"))
+            && String.valueOf(event.get("requestId")).equals(String.valueOf(event.get("loaderId")))
+            && String.valueOf(event.get("frameId")).equals(mainFrameId);
+        if (newDocument) {
+            inFlight.clear();
+        }
+        if (newDocument || currentPage == null) {
+            currentPage = new PageStats(String.valueOf(request.get("url")));
+            pages.add(currentPage);
+        }
+        currentPage.requests++;
+        inFlight.put(String.valueOf(event.get("requestId")), String.valueOf(request.get("url")));
+    }
+
+    private synchronized void onLoadingFailed(Map<String, Object> event) {
+        String url = inFlight.remove(String.valueOf(event.get("requestId")));
+        if (currentPage != null && event.get("blockedReason") != null) {
+            currentPage.blocked.merge(categorize(url), 1, Integer::sum);
+            currentPage.blockedRequests++;
+        }
+    }
+
+    private synchronized void onLoadingFinished(Map<String, Object> event) {
+        inFlight.remove(String.valueOf(event.get("requestId")));
+        Object length = event.get("encodedDataLength");
+        if (currentPage != null && length instanceof Number) {
+            currentPage.transferredBytes += ((Number) length).longValue();
+        }
+    }
+
+    private Category categorize(String url) {
+        if (url != null) {
+            for (Map.Entry<Pattern, Category> matcher : matchers.entrySet()) {
+                if (matcher.getKey().matcher(url).matches()) {
+                    return matcher.getValue();
+                }
+            }
+        }
+        return Category.CUSTOM;
+    }
+
+    private static Map<String, Category> configuredPatterns() {
+        Set<Category> categories = EnumSet.noneOf(Category.class);
+        String configured = System.getProperty("block", "ads,trackers,notifications,fonts").trim();
+        if (!configured.equalsIgnoreCase("none")) {
+            for (String name : configured.split(",")) {
+                if (!name.isBlank()) {
+                    categories.add(Category.valueOf(name.trim().toUpperCase()));
+                }
+            }
+        }
+        Map<String, Category> patterns = new LinkedHashMap<>();
+        for (Category category : categories) {
+            category.getPatterns().forEach(pattern -> patterns.put(pattern, category));
+        }
+        for (String pattern : System.getProperty("block.patterns", "").split(",")) {
+            if (!pattern.isBlank()) {
+                patterns.put(pattern.trim(), Category.CUSTOM);
+            }
+        }
+        return patterns;
+    }
+
+    private static Pattern globToRegex(String glob) {
+        StringBuilder regex = new StringBuilder();
+        for (String part : glob.split("\\*", -1)) {
+            if (regex.length() > 0) {
+                regex.append(".*");
+            }
+            regex.append(Pattern.quote(part));
+        }
+        return Pattern.compile(regex.toString());
+    }
+
+    /**
+     * Request counts for one top-level page load. Blocked requests are never sent, so their size is unknown;
+     * {@code transferredBytes} is what the page actually downloaded with the blocklist in place.
+     */
+    public static final class PageStats {
+        private final String url;
+        private final Map<Category, Integer> blocked = new EnumMap<>(Category.class);
+        private int requests;
+        private int blockedRequests;
+        private long transferredBytes;
+
+        private PageStats(String url) {
+            this.url = url;
+        }
+
+        public String getUrl() {
+            return url;
+        }
+
+        public int getRequests() {
+            return requests;
+        }
+
+        public int getBlockedRequests() {
+            return blockedRequests;
+        }
+
+        public Map<Category, Integer> getBlockedByCategory() {
+            return Collections.unmodifiableMap(blocked);
+        }
+
+        public long getTransferredBytes() {
+            return transferredBytes;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s | requests: %d | blocked: %d %s | transferred: %d KB",
+                url, requests, blockedRequests, blocked, transferredBytes / 1024);
+        }
+    }
+}
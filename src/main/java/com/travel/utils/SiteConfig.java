@@ -0,0 +1,43 @@
+package com.travel.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * URLs of the sites the suite talks to. Each can be overridden with a system property, which is how runs are
+ * pointed at the local mock site instead of the live ones.
+ */
+public final class SiteConfig {
+    private static final String DEFAULT_COMPARISON_SITES =
+        "https://www.google.com/travel/flights,https://www.cleartrip.com,https://www.goibibo.com";
+
+    private SiteConfig() {
+    }
+
+    /**
+     * Travel site under test ({@code -Dbase.url}).
+     */
+    public static String baseUrl() {
+        return System.getProperty("base.url", "https://www.makemytrip.com");
+    }
+
+    /**
+     * Search engine used for the price cross-check ({@code -Dsearch.engine.url}).
+     */
+    public static String searchEngineUrl() {
+        return System.getProperty("search.engine.url", "https://www.google.com");
+    }
+
+    /**
+     * Other travel sites opened for comparison ({@code -Dcomparison.sites}, comma-separated).
+     */
+    public static List<String> comparisonSites() {
+        List<String> sites = new ArrayList<>();
+        for (String site : System.getProperty("comparison.sites", DEFAULT_COMPARISON_SITES).split(",")) {
+            if (!site.isBlank()) {
+                sites.add(site.trim());
+            }
+        }
+        return sites;
+    }
+}
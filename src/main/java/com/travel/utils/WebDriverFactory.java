@@ -1,57 +1,347 @@
 package com.travel.utils;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
+import org.openqa.selenium.Dimension;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.chrome.ChromeOptions;
 import org.openqa.selenium.firefox.FirefoxDriver;
 import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.remote.CommandPayload;
+import org.openqa.selenium.remote.Response;
 
 import io.github.bonigarcia.wdm.WebDriverManager;
 
 public class WebDriverFactory {
+    // Driver binaries only need to be resolved once per JVM, not once per session
+    private static final Set<String> RESOLVED_DRIVERS = ConcurrentHashMap.newKeySet();
+
+    // Each test thread owns exactly one session; page objects built on it must stay on that thread
+    private static final ThreadLocal<WebDriver> THREAD_DRIVER = new ThreadLocal<>();
+
+    private static final Map<WebDriver, SessionInfo> SESSIONS = new ConcurrentHashMap<>();
+    private static final Map<BrowserProfile, ProfileStats> PROFILE_STATS = new ConcurrentHashMap<>();
+    // Cache directory slots held by live sessions
+    private static final Set<Integer> USED_SLOTS = new HashSet<>();
+
+    /**
+     * Returns the calling thread's driver, leasing one from {@link DriverPool} on first use.
+     */
+    public static WebDriver getDriver(String browserType) {
+        WebDriver driver = THREAD_DRIVER.get();
+        if (driver == null) {
+            driver = DriverPool.acquire(browserType);
+            THREAD_DRIVER.set(driver);
+        }
+        return driver;
+    }
+
+    /**
+     * Hands the calling thread's driver back to the pool.
+     */
+    public static void releaseDriver() {
+        WebDriver driver = THREAD_DRIVER.get();
+        THREAD_DRIVER.remove();
+        if (driver != null) {
+            RequestBlocker.printReport(driver);
+            OverlaySuppressor.printReport(driver);
+            DriverPool.release(driver);
+        }
+    }
+
+    /**
+     * Takes the calling thread's driver away from the thread without returning it to the pool, so it can be
+     * handed to another thread with {@link #attachDriver(WebDriver)}. The caller becomes responsible for
+     * releasing it through {@link DriverPool}.
+     */
+    public static WebDriver detachDriver() {
+        WebDriver driver = THREAD_DRIVER.get();
+        THREAD_DRIVER.remove();
+        return driver;
+    }
+
+    /**
+     * Makes a leased driver the calling thread's driver, releasing any driver the thread already held.
+     */
+    public static void attachDriver(WebDriver driver) {
+        if (THREAD_DRIVER.get() != null && THREAD_DRIVER.get() != driver) {
+            releaseDriver();
+        }
+        THREAD_DRIVER.set(driver);
+    }
+
+    /**
+     * Quits the calling thread's driver instead of returning it to the pool.
+     */
+    public static void discardDriver() {
+        WebDriver driver = THREAD_DRIVER.get();
+        THREAD_DRIVER.remove();
+        if (driver != null) {
+            DriverPool.discard(driver);
+        }
+    }
+
+    /**
+     * Launches a new session using the browser profile selected with {@code -Dprofile}.
+     */
     public static WebDriver createDriver(String browserType) {
+        BrowserProfile profile = BrowserProfile.current();
+        int slot = acquireSlot();
+        String sessionMarker = "--travel-session=" + UUID.randomUUID();
+        long start = System.nanoTime();
         WebDriver driver;
+        // Shared asset cache, when -Dproxy.cache=true
+        CachingProxy proxy = CachingProxy.shared();
         try {
             switch (browserType.toLowerCase()) {
                 case "firefox":
-                    WebDriverManager.firefoxdriver().setup();
+                    if (!RESOLVED_DRIVERS.contains("firefox")) {
+                        WebDriverManager.firefoxdriver().setup();
+                        RESOLVED_DRIVERS.add("firefox");
+                    }
                     FirefoxOptions firefoxOptions = new FirefoxOptions();
                     firefoxOptions.addArguments("--disable-notifications");
                     firefoxOptions.addArguments("--disable-popup-blocking");
-                    firefoxOptions.addArguments("--start-maximized");
                     firefoxOptions.addArguments("--disable-infobars");
                     firefoxOptions.addArguments("--remote-allow-origins=*");
-                    driver = new FirefoxDriver(firefoxOptions);
+                    profile.applyTo(firefoxOptions, slot);
+                    // No session marker: Firefox has no unused switch to carry one, so its RSS is reported as n/a
+                    if (proxy != null) {
+                        firefoxOptions.addPreference("network.proxy.type", 1);
+                        firefoxOptions.addPreference("network.proxy.http", "127.0.0.1");
+                        firefoxOptions.addPreference("network.proxy.http_port", proxy.port());
+                        firefoxOptions.addPreference("network.proxy.ssl", "127.0.0.1");
+                        firefoxOptions.addPreference("network.proxy.ssl_port", proxy.port());
+                        firefoxOptions.addPreference("network.proxy.no_proxies_on", "");
+                        firefoxOptions.addPreference("network.proxy.allow_hijacking_localhost", true);
+                    }
+                    driver = new FirefoxDriver(firefoxOptions) {
+                        @Override
+                        protected Response execute(CommandPayload payload) {
+                            ActionTimeline.roundTrip();
+                            return super.execute(payload);
+                        }
+                    };
                     break;
                 case "chrome":
                 default:
-                    WebDriverManager.chromedriver().setup();
+                    if (!RESOLVED_DRIVERS.contains("chrome")) {
+                        WebDriverManager.chromedriver().setup();
+                        RESOLVED_DRIVERS.add("chrome");
+                    }
                     ChromeOptions chromeOptions = new ChromeOptions();
                     chromeOptions.addArguments("--disable-notifications");
                     chromeOptions.addArguments("--disable-popup-blocking");
                     chromeOptions.addArguments("--disable-gpu");
                     chromeOptions.addArguments("--no-sandbox");
                     chromeOptions.addArguments("--disable-dev-shm-usage");
-                    chromeOptions.addArguments("--start-maximized");
                     chromeOptions.addArguments("--disable-infobars");
                     chromeOptions.addArguments("--remote-allow-origins=*");
+                    // Unused switch that tags the browser process so its memory can be measured
+                    chromeOptions.addArguments(sessionMarker);
                     chromeOptions.setExperimentalOption("excludeSwitches", new String[]{"enable-automation"});
-                    driver = new ChromeDriver(chromeOptions);
+                    profile.applyTo(chromeOptions, slot);
+                    if (proxy != null) {
+                        chromeOptions.addArguments("--proxy-server=http://" + proxy.address());
+                        // Chrome skips proxies for localhost unless told otherwise; the mock site lives there
+                        chromeOptions.addArguments("--proxy-bypass-list=<-loopback>");
+                    }
+                    // Every WebDriver command goes through execute, so this counts round trips per action
+                    driver = new ChromeDriver(chromeOptions) {
+                        @Override
+                        protected Response execute(CommandPayload payload) {
+                            ActionTimeline.roundTrip();
+                            return super.execute(payload);
+                        }
+                    };
                     break;
             }
-            
+
             // Configure timeouts
             driver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(30));
             driver.manage().timeouts().scriptTimeout(Duration.ofSeconds(30));
             driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(0)); // We use explicit waits
-            
-            driver.manage().window().maximize();
-            return driver;
-            
+
+            if (profile.isMaximized()) {
+                driver.manage().window().maximize();
+            } else {
+                driver.manage().window().setSize(new Dimension(profile.getWidth(), profile.getHeight()));
+            }
+
+            // Stop ads, trackers and notification widgets before they download
+            RequestBlocker.install(driver);
+            // Hide banners and modals at document start instead of sweeping for them later
+            OverlaySuppressor.install(driver);
         } catch (Exception e) {
+            releaseSlot(slot);
             throw new RuntimeException("Failed to initialize WebDriver: " + e.getMessage(), e);
         }
+
+        long startupMillis = (System.nanoTime() - start) / 1_000_000L;
+        SessionInfo session = new SessionInfo(profile, slot, sessionMarker);
+        SESSIONS.put(driver, session);
+        long rss = session.rssBytes();
+        PROFILE_STATS.computeIfAbsent(profile, ProfileStats::new).recordStartup(startupMillis, rss);
+        System.out.println(String.format("Started %s session (%s) in %d ms, RSS %s", browserType, profile,
+            startupMillis, formatMegabytes(rss)));
+        return driver;
+    }
+
+    /**
+     * Quits a session created by {@link #createDriver(String)}, recording its final memory footprint.
+     */
+    public static void quitDriver(WebDriver driver) {
+        SessionInfo session = SESSIONS.remove(driver);
+        try {
+            if (session != null) {
+                PROFILE_STATS.get(session.profile).recordRss(session.rssBytes());
+            }
+            driver.quit();
+        } finally {
+            if (session != null) {
+                releaseSlot(session.slot);
+            }
+        }
+    }
+
+    /**
+     * Samples the current resident memory of a session's browser process tree, or -1 when unavailable.
+     */
+    public static long measureRss(WebDriver driver) {
+        SessionInfo session = SESSIONS.get(driver);
+        if (session == null) {
+            return -1;
+        }
+        long rss = session.rssBytes();
+        PROFILE_STATS.get(session.profile).recordRss(rss);
+        return rss;
+    }
+
+    /**
+     * Prints measured startup time and memory per browser profile.
+     */
+    public static void printProfileReport() {
+        if (PROFILE_STATS.isEmpty()) {
+            return;
+        }
+        System.out.println("\n=== Browser Profiles ===");
+        System.out.println(String.format("%-14s %9s %14s %12s %12s", "Profile", "Sessions", "Avg start ms",
+            "Avg RSS", "Peak RSS"));
+        PROFILE_STATS.values().forEach(System.out::println);
+    }
+
+    private static synchronized int acquireSlot() {
+        int slot = 0;
+        while (USED_SLOTS.contains(slot)) {
+            slot++;
+        }
+        USED_SLOTS.add(slot);
+        return slot;
+    }
+
+    private static synchronized void releaseSlot(int slot) {
+        USED_SLOTS.remove(slot);
+    }
+
+    private static String formatMegabytes(long bytes) {
+        return bytes < 0 ? "n/a" : (bytes / (1024 * 1024)) + " MB";
+    }
+
+    // Which profile and cache slot a live session uses, and how to find its browser processes
+    private static final class SessionInfo {
+        private final BrowserProfile profile;
+        private final int slot;
+        private final String marker;
+
+        private SessionInfo(BrowserProfile profile, int slot, String marker) {
+            this.profile = profile;
+            this.slot = slot;
+            this.marker = marker;
+        }
+
+        // Sums VmRSS over the tagged browser process and its children (renderers, GPU, utilities). Linux and
+        // Chrome only; -1 when the tagged process is not found
+        private long rssBytes() {
+            Optional<ProcessHandle> browser = ProcessHandle.current().descendants()
+                .filter(process -> process.info().commandLine().map(line -> line.contains(marker)).orElse(false))
+                .findFirst();
+            if (!browser.isPresent()) {
+                return -1;
+            }
+            long total = 0;
+            List<ProcessHandle> tree = new ArrayList<>();
+            tree.add(browser.get());
+            browser.get().descendants().forEach(tree::add);
+            for (ProcessHandle process : tree) {
+                long rss = residentBytes(process.pid());
+                if (rss < 0) {
+                    return -1;
+                }
+                total += rss;
+            }
+            return total;
+        }
+
+        private static long residentBytes(long pid) {
+            try {
+                for (String line : Files.readAllLines(Paths.get("/proc", Long.toString(pid), "status"))) {
+                    if (line.startsWith("VmRSS:")) {
+                        return Long.parseLong(line.replaceAll("[^0-9]", "")) * 1024;
+                    }
+                }
+                return 0;
+            } catch (IOException | NumberFormatException e) {
+                // Process exited or /proc is not available on this OS
+                return Files.isDirectory(Paths.get("/proc", Long.toString(pid))) ? -1 : 0;
+            }
+        }
+    }
+
+    // Startup time and memory observed for one profile
+    private static final class ProfileStats {
+        private final BrowserProfile profile;
+        private int sessions;
+        private long totalStartupMillis;
+        private long rssSamples;
+        private long totalRss;
+        private long peakRss;
+
+        private ProfileStats(BrowserProfile profile) {
+            this.profile = profile;
+        }
+
+        private synchronized void recordStartup(long startupMillis, long rss) {
+            sessions++;
+            totalStartupMillis += startupMillis;
+            recordRss(rss);
+        }
+
+        private synchronized void recordRss(long rss) {
+            if (rss >= 0) {
+                rssSamples++;
+                totalRss += rss;
+                peakRss = Math.max(peakRss, rss);
+            }
+        }
+
+        @Override
+        public synchronized String toString() {
+            return String.format("%-14s %9d %14d %12s %12s", profile, sessions,
+                sessions == 0 ? 0 : totalStartupMillis / sessions,
+                formatMegabytes(rssSamples == 0 ? -1 : totalRss / rssSamples),
+                formatMegabytes(rssSamples == 0 ? -1 : peakRss));
+        }
     }
-}
\ No newline at end of file
+}
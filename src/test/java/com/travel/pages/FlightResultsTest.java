@@ -0,0 +1,196 @@
+package com.travel.pages;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/**
+ * {@link FlightResults}: the card text parsers, the bounded-heap {@link FlightResults#cheapest(int)} against a
+ * full sort, and rows read back as records.
+ */
+public class FlightResultsTest {
+
+    @DataProvider(name = "prices")
+    public static Object[][] prices() {
+        return new Object[][]{
+            {"₹ 5,432", 5432},
+            {"₹5432", 5432},
+            {"Rs.5,432", 5432},
+            {"Rs. 5,432.50", 5432},
+            {"5432.0", 5432},
+            {"0", 0},
+            {"", -1},
+            {"Rs.", -1},
+            {"Sold out", -1},
+            {"99999999999", -1},
+            {null, -1},
+        };
+    }
+
+    @Test(dataProvider = "prices")
+    public void parsePrice(String text, int expected) {
+        Assert.assertEquals(FlightResults.parsePrice(text), expected);
+    }
+
+    @DataProvider(name = "clockTimes")
+    public static Object[][] clockTimes() {
+        return new Object[][]{
+            {"07:45", 7 * 60 + 45},
+            {"00:05", 5},
+            {"23:59", 23 * 60 + 59},
+            {"Departs 18:30", 18 * 60 + 30},
+            {"7:45 AM", 7 * 60 + 45},
+            {"7:45 PM", 19 * 60 + 45},
+            {"7:45pm", 19 * 60 + 45},
+            {"12:00 AM", 0},
+            {"12:30 PM", 12 * 60 + 30},
+            {"24:00", FlightResults.UNKNOWN},
+            {"07:61", FlightResults.UNKNOWN},
+            {"7:5", FlightResults.UNKNOWN},
+            {"0745", FlightResults.UNKNOWN},
+            {"", FlightResults.UNKNOWN},
+            {"Morning", FlightResults.UNKNOWN},
+            {null, FlightResults.UNKNOWN},
+        };
+    }
+
+    @Test(dataProvider = "clockTimes")
+    public void parseClockMinutes(String text, int expected) {
+        Assert.assertEquals(FlightResults.parseClockMinutes(text), expected);
+    }
+
+    @DataProvider(name = "durations")
+    public static Object[][] durations() {
+        return new Object[][]{
+            {"2h 15m", 135},
+            {"02 h 05 m", 125},
+            {"45m", 45},
+            {"3h", 180},
+            {"1H 5M", 65},
+            {"", FlightResults.UNKNOWN},
+            {"Non stop", FlightResults.UNKNOWN},
+            {"hm", FlightResults.UNKNOWN},
+            {"120", FlightResults.UNKNOWN},
+            {null, FlightResults.UNKNOWN},
+        };
+    }
+
+    @Test(dataProvider = "durations")
+    public void parseDurationMinutes(String text, int expected) {
+        Assert.assertEquals(FlightResults.parseDurationMinutes(text), expected);
+    }
+
+    @Test
+    public void cheapestMatchesFullSort() {
+        Random random = new Random(42);
+        for (int size : new int[]{1, 2, 7, 100, 1000}) {
+            FlightResults results = new FlightResults(null, size);
+            for (int row = 0; row < size; row++) {
+                // Few distinct prices, so the listing is full of ties
+                results.add("Airline " + row, "06:00", "2h", 3000 + random.nextInt(20) * 100);
+            }
+            int[] sorted = new int[size];
+            for (int row = 0; row < size; row++) {
+                sorted[row] = results.price(row);
+            }
+            Arrays.sort(sorted);
+
+            for (int k : new int[]{1, 2, 5, size - 1, size, size + 3}) {
+                if (k <= 0) {
+                    continue;
+                }
+                int[] cheapest = results.cheapest(k);
+                Assert.assertEquals(cheapest.length, Math.min(k, size), "size " + size + ", k " + k);
+                Set<Integer> rows = new HashSet<>();
+                for (int i = 0; i < cheapest.length; i++) {
+                    Assert.assertTrue(rows.add(cheapest[i]), "row " + cheapest[i] + " returned twice");
+                    Assert.assertEquals(results.price(cheapest[i]), sorted[i], "size " + size + ", k " + k);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void cheapestOfNothing() {
+        FlightResults results = new FlightResults(null, 4);
+        Assert.assertEquals(results.cheapest(3).length, 0);
+
+        results.add("IndiGo", "06:00", "2h", 5000);
+        Assert.assertEquals(results.cheapest(0).length, 0);
+        Assert.assertEquals(results.cheapest(-1).length, 0);
+    }
+
+    @Test
+    public void cheapestWithAllPricesEqual() {
+        FlightResults results = new FlightResults(null, 5);
+        for (int row = 0; row < 5; row++) {
+            results.add("Airline " + row, "06:00", "2h", 4000);
+        }
+        int[] cheapest = results.cheapest(3);
+        Assert.assertEquals(cheapest.length, 3);
+        Assert.assertEquals(new HashSet<>(Arrays.asList(cheapest[0], cheapest[1], cheapest[2])).size(), 3);
+    }
+
+    @Test
+    public void addSkipsCardsWithoutPrice() {
+        FlightResults results = new FlightResults(null, 2);
+        Assert.assertFalse(results.add("IndiGo", "06:00", "2h", "Sold out"));
+        Assert.assertTrue(results.add("IndiGo", "06:00", "2h", "₹ 5,432"));
+        Assert.assertEquals(results.size(), 1);
+        Assert.assertEquals(results.price(0), 5432);
+    }
+
+    @Test
+    public void growsPastExpectedSize() {
+        FlightResults results = new FlightResults(null, 0);
+        for (int row = 0; row < 100; row++) {
+            results.add("Airline " + row, "06:00", "2h", 1000 + row);
+        }
+        Assert.assertEquals(results.size(), 100);
+        Assert.assertEquals(results.price(99), 1099);
+        Assert.assertEquals(results.airline(99), "Airline 99");
+    }
+
+    @Test
+    public void departuresCountFromTravelDate() {
+        LocalDate date = LocalDate.of(2026, 11, 20);
+        FlightResults results = new FlightResults(date, 2);
+        results.add("IndiGo", "9:45 PM", "2h 05m", 6100);
+        results.add("Vistara", "TBA", "2h", 5000);
+
+        Assert.assertEquals(results.departureMinuteOfDay(0), 21 * 60 + 45);
+        Assert.assertEquals(results.departureEpochMinute(0), date.toEpochDay() * 24 * 60 + 21 * 60 + 45);
+        Assert.assertEquals(results.departureMinuteOfDay(1), FlightResults.UNKNOWN);
+        Assert.assertEquals(results.departureEpochMinute(1), FlightResults.UNKNOWN);
+    }
+
+    @Test
+    public void recordsFormatParsedValuesAndKeepUnparsedText() {
+        FlightResults results = new FlightResults(null, 2);
+        results.add("IndiGo", "7:05 PM", "2h 5m", 5432);
+        results.add("Vistara", "Morning", "Non stop", 6100);
+
+        FlightRecord parsed = results.record(0);
+        Assert.assertEquals(parsed.getAirline(), "IndiGo");
+        Assert.assertEquals(parsed.getDeparture(), "19:05");
+        Assert.assertEquals(parsed.getDuration(), "2h 05m");
+        Assert.assertEquals(parsed.getPrice(), 5432);
+
+        FlightRecord raw = results.record(1);
+        Assert.assertEquals(raw.getDeparture(), "Morning");
+        Assert.assertEquals(raw.getDuration(), "Non stop");
+    }
+
+    @Test(expectedExceptions = IndexOutOfBoundsException.class)
+    public void rowsPastTheEndAreRejected() {
+        FlightResults results = new FlightResults(null, 16);
+        results.add("IndiGo", "06:00", "2h", 5000);
+        results.price(1);
+    }
+}
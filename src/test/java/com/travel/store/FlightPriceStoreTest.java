@@ -0,0 +1,191 @@
+package com.travel.store;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.stream.Stream;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import com.travel.pages.FlightResults;
+
+/**
+ * Round trips through {@link FlightPriceStore} in a fresh temp directory per test, including reopening after
+ * a run was cut short mid-write.
+ */
+public class FlightPriceStoreTest {
+    private static final LocalDate TRAVEL_DATE = LocalDate.of(2026, 11, 20);
+    private static final Instant CAPTURED_AT = Instant.parse("2026-10-01T08:00:00Z");
+
+    private Path directory;
+
+    @BeforeMethod
+    public void createDirectory() throws IOException {
+        directory = Files.createTempDirectory("price-store");
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void deleteDirectory() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    @Test
+    public void appendedRunsSurviveReopen() {
+        try (FlightPriceStore store = new FlightPriceStore(directory)) {
+            store.append("del-bom", TRAVEL_DATE, CAPTURED_AT, listing(
+                "IndiGo", "06:10", "2h 15m", 5432,
+                "Air India", "9:45 PM", "2h 05m", 6100));
+            Assert.assertEquals(store.size(), 2);
+        }
+
+        try (FlightPriceStore store = new FlightPriceStore(directory)) {
+            Assert.assertEquals(store.size(), 2);
+            List<StoredFlight> flights = store.flights("DEL-BOM", TRAVEL_DATE);
+            Assert.assertEquals(flights.size(), 2);
+            assertFlight(flights.get(0), "IndiGo", 6 * 60 + 10, 135, 5432);
+            assertFlight(flights.get(1), "Air India", 21 * 60 + 45, 125, 6100);
+            Assert.assertEquals(flights.get(0).getCapturedAt(), CAPTURED_AT);
+            Assert.assertEquals(flights.get(0).getTravelDate(), TRAVEL_DATE);
+
+            // Appends after a reopen continue the same files
+            store.append("DEL-BOM", TRAVEL_DATE, CAPTURED_AT.plusSeconds(60), listing(
+                "Vistara", "11:00", "2h 10m", 4999));
+            Assert.assertEquals(store.size(), 3);
+        }
+
+        try (FlightPriceStore store = new FlightPriceStore(directory)) {
+            List<StoredFlight> flights = store.flights("DEL-BOM", TRAVEL_DATE);
+            Assert.assertEquals(flights.size(), 3);
+            assertFlight(flights.get(2), "Vistara", 11 * 60, 130, 4999);
+        }
+    }
+
+    @Test
+    public void unparsedTimesAreStoredAsUnknown() {
+        try (FlightPriceStore store = new FlightPriceStore(directory)) {
+            store.append("DEL-BOM", TRAVEL_DATE, CAPTURED_AT, listing("SpiceJet", "soon", "", 3999));
+            assertFlight(store.flights("DEL-BOM", TRAVEL_DATE).get(0), "SpiceJet", -1, -1, 3999);
+        }
+    }
+
+    @Test
+    public void tornRunIsDroppedOnReopen() throws IOException {
+        try (FlightPriceStore store = new FlightPriceStore(directory)) {
+            store.append("DEL-BOM", TRAVEL_DATE, CAPTURED_AT, listing("IndiGo", "06:10", "2h 15m", 5432));
+        }
+        long indexBytes = Files.size(directory.resolve("runs.idx"));
+
+        // A crash mid-append: some column rows and half an index entry made it to disk
+        appendBytes("price.col", 6);
+        appendBytes("airline.col", 8);
+        appendBytes("runs.idx", 12);
+
+        try (FlightPriceStore store = new FlightPriceStore(directory)) {
+            Assert.assertEquals(store.size(), 1);
+            Assert.assertEquals(Files.size(directory.resolve("runs.idx")), indexBytes);
+            Assert.assertEquals(Files.size(directory.resolve("price.col")), 4);
+            Assert.assertEquals(Files.size(directory.resolve("airline.col")), 4);
+
+            // The next run overwrites the torn tail instead of landing after it
+            store.append("DEL-BOM", TRAVEL_DATE, CAPTURED_AT.plusSeconds(60), listing(
+                "Akasa Air", "13:20", "1h 55m", 4800));
+        }
+
+        try (FlightPriceStore store = new FlightPriceStore(directory)) {
+            List<StoredFlight> flights = store.flights("DEL-BOM", TRAVEL_DATE);
+            Assert.assertEquals(flights.size(), 2);
+            assertFlight(flights.get(0), "IndiGo", 6 * 60 + 10, 135, 5432);
+            assertFlight(flights.get(1), "Akasa Air", 13 * 60 + 20, 115, 4800);
+        }
+    }
+
+    @Test
+    public void cheapestSinceOnlyCountsLaterCaptures() {
+        try (FlightPriceStore store = new FlightPriceStore(directory)) {
+            store.append("DEL-BOM", TRAVEL_DATE, CAPTURED_AT, listing("IndiGo", "06:10", "2h 15m", 3000));
+            store.append("DEL-BOM", TRAVEL_DATE, CAPTURED_AT.plusSeconds(3600), listing(
+                "IndiGo", "06:10", "2h 15m", 4500,
+                "Vistara", "11:00", "2h 10m", 4200));
+            store.append("DEL-BLR", TRAVEL_DATE, CAPTURED_AT.plusSeconds(3600), listing(
+                "IndiGo", "07:00", "2h 45m", 2500));
+
+            Assert.assertEquals(store.cheapestSince("DEL-BOM", CAPTURED_AT), OptionalInt.of(3000));
+            // The bound is inclusive
+            Assert.assertEquals(store.cheapestSince("DEL-BOM", CAPTURED_AT.plusSeconds(3600)), OptionalInt.of(4200));
+            Assert.assertEquals(store.cheapestSince("del-bom", CAPTURED_AT.plusSeconds(7200)), OptionalInt.empty());
+            Assert.assertEquals(store.cheapestSince("BOM-DEL", CAPTURED_AT), OptionalInt.empty());
+        }
+    }
+
+    @Test
+    public void cheapestForTravelDatesIsInclusive() {
+        try (FlightPriceStore store = new FlightPriceStore(directory)) {
+            store.append("DEL-BOM", TRAVEL_DATE, CAPTURED_AT, listing("IndiGo", "06:10", "2h 15m", 5000));
+            store.append("DEL-BOM", TRAVEL_DATE.plusDays(1), CAPTURED_AT, listing("IndiGo", "06:10", "2h 15m", 4000));
+            store.append("DEL-BOM", TRAVEL_DATE.plusDays(3), CAPTURED_AT, listing("IndiGo", "06:10", "2h 15m", 3000));
+
+            Assert.assertEquals(store.cheapestForTravelDates("DEL-BOM", TRAVEL_DATE, TRAVEL_DATE),
+                OptionalInt.of(5000));
+            Assert.assertEquals(store.cheapestForTravelDates("DEL-BOM", TRAVEL_DATE, TRAVEL_DATE.plusDays(2)),
+                OptionalInt.of(4000));
+            Assert.assertEquals(store.cheapestForTravelDates("DEL-BOM", TRAVEL_DATE, TRAVEL_DATE.plusDays(3)),
+                OptionalInt.of(3000));
+            Assert.assertEquals(store.cheapestForTravelDates("DEL-BOM", TRAVEL_DATE.plusDays(4),
+                TRAVEL_DATE.plusDays(9)), OptionalInt.empty());
+        }
+    }
+
+    @Test
+    public void flightsAreFilteredByRouteAndDate() {
+        try (FlightPriceStore store = new FlightPriceStore(directory)) {
+            store.append("DEL-BOM", TRAVEL_DATE, CAPTURED_AT, listing("IndiGo", "06:10", "2h 15m", 5000));
+            store.append("DEL-BOM", TRAVEL_DATE.plusDays(1), CAPTURED_AT, listing("Vistara", "11:00", "2h 10m", 4000));
+            store.append("DEL-BLR", TRAVEL_DATE, CAPTURED_AT, listing("Akasa Air", "13:20", "2h 45m", 3000));
+            store.append("DEL-BOM", TRAVEL_DATE, CAPTURED_AT.plusSeconds(60), listing(
+                "Air India", "9:45 PM", "2h 05m", 6100));
+
+            List<StoredFlight> flights = store.flights("DEL-BOM", TRAVEL_DATE);
+            Assert.assertEquals(flights.size(), 2);
+            Assert.assertEquals(flights.get(0).getAirline(), "IndiGo");
+            Assert.assertEquals(flights.get(1).getAirline(), "Air India");
+            Assert.assertEquals(flights.get(1).getCapturedAt(), CAPTURED_AT.plusSeconds(60));
+
+            Assert.assertEquals(store.flights("DEL-BLR", TRAVEL_DATE).get(0).getAirline(), "Akasa Air");
+            Assert.assertTrue(store.flights("DEL-BLR", TRAVEL_DATE.plusDays(1)).isEmpty());
+            Assert.assertTrue(store.flights("BOM-GOI", TRAVEL_DATE).isEmpty());
+        }
+    }
+
+    // Builds a listing from (airline, departure, duration, price) quadruples
+    private static FlightResults listing(Object... rows) {
+        FlightResults results = new FlightResults(TRAVEL_DATE, rows.length / 4);
+        for (int i = 0; i < rows.length; i += 4) {
+            results.add((String) rows[i], (String) rows[i + 1], (String) rows[i + 2], (int) rows[i + 3]);
+        }
+        return results;
+    }
+
+    private static void assertFlight(StoredFlight flight, String airline, int departure, int duration, int price) {
+        Assert.assertEquals(flight.getAirline(), airline);
+        Assert.assertEquals(flight.getDepartureMinutes(), departure);
+        Assert.assertEquals(flight.getDurationMinutes(), duration);
+        Assert.assertEquals(flight.getPrice(), price);
+    }
+
+    private void appendBytes(String file, int count) throws IOException {
+        Files.write(directory.resolve(file), new byte[count], StandardOpenOption.APPEND);
+    }
+}
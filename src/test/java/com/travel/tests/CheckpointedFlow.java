@@ -0,0 +1,145 @@
+package com.travel.tests;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.openqa.selenium.WebDriver;
+import org.testng.ITestResult;
+import org.testng.internal.TestResult;
+
+import com.travel.pages.FlowCheckpoint;
+import com.travel.pages.HomePage;
+import com.travel.utils.DriverPool;
+
+/**
+ * Runs a test as named steps and remembers, per test invocation, the last step that left the browser on a
+ * resumable page (see {@link FlowCheckpoint}). When {@link TestRetry} retries the invocation, the flow reopens
+ * that page and skips every step up to and including it instead of starting from the home page.
+ *
+ * After a transient failure the failed session can be parked so the retry continues in the same browser.
+ */
+final class CheckpointedFlow {
+    private static final Map<String, Resume> CHECKPOINTS = new ConcurrentHashMap<>();
+    private static final Map<String, WebDriver> PARKED = new ConcurrentHashMap<>();
+    private static final Map<String, Integer> ATTEMPTS = new ConcurrentHashMap<>();
+
+    private final String invocation;
+    private final HomePage page;
+    private String skipUntil;
+
+    private CheckpointedFlow(String invocation, HomePage page, String skipUntil) {
+        this.invocation = invocation;
+        this.page = page;
+        this.skipUntil = skipUntil;
+    }
+
+    /**
+     * Key identifying one test invocation across its retries: the method plus its data-provider row index, so
+     * rows with identical parameters (e.g. the scaling benchmark's repeated routes) never share state.
+     */
+    static String invocationKey(ITestResult result) {
+        return result.getMethod().getQualifiedName() + "#" + rowIndex(result);
+    }
+
+    /**
+     * Data-provider row of an invocation; 0 for methods without a data provider.
+     */
+    static int rowIndex(ITestResult result) {
+        return result instanceof TestResult ? ((TestResult) result).getParameterIndex() : 0;
+    }
+
+    /**
+     * Counts an attempt of the invocation and returns its number, starting at 1.
+     */
+    static int nextAttempt(String invocation) {
+        return ATTEMPTS.merge(invocation, 1, Integer::sum);
+    }
+
+    static boolean hasCheckpoint(String invocation) {
+        return CHECKPOINTS.containsKey(invocation);
+    }
+
+    /**
+     * Starts the flow for an invocation, reopening its last resumable page if an earlier attempt got that far.
+     */
+    static CheckpointedFlow start(String invocation, HomePage page) {
+        Resume resume = CHECKPOINTS.get(invocation);
+        if (resume == null) {
+            return new CheckpointedFlow(invocation, page, null);
+        }
+        System.out.println("Resuming " + invocation + " after step '" + resume.step + "' at "
+            + resume.checkpoint.getUrl());
+        try {
+            page.resumeFrom(resume.checkpoint);
+        } catch (RuntimeException e) {
+            // The page is gone (expired search, new deployment); the next attempt starts from scratch
+            CHECKPOINTS.remove(invocation);
+            throw e;
+        }
+        return new CheckpointedFlow(invocation, page, resume.step);
+    }
+
+    /**
+     * Runs a step, or skips it when a resumed flow has already completed it.
+     */
+    void step(String name, Runnable action) {
+        if (skipUntil != null) {
+            if (name.equals(skipUntil)) {
+                skipUntil = null;
+            }
+            return;
+        }
+        action.run();
+        FlowCheckpoint checkpoint = page.getLastCheckpoint();
+        if (checkpoint != null && checkpoint.isResumable()) {
+            CHECKPOINTS.put(invocation, new Resume(name, checkpoint));
+        }
+    }
+
+    /**
+     * Forgets an invocation's checkpoint, once it has passed or failed for good.
+     */
+    static void forget(String invocation) {
+        CHECKPOINTS.remove(invocation);
+        ATTEMPTS.remove(invocation);
+    }
+
+    /**
+     * Keeps a failed invocation's session for its retry.
+     */
+    static void park(String invocation, WebDriver driver) {
+        WebDriver previous = PARKED.put(invocation, driver);
+        if (previous != null && previous != driver) {
+            DriverPool.release(previous);
+        }
+    }
+
+    /**
+     * The session parked for an invocation, if any; it is no longer parked afterwards.
+     */
+    static WebDriver unpark(String invocation) {
+        return PARKED.remove(invocation);
+    }
+
+    /**
+     * Returns every session whose retry never came (retries exhausted) to the pool.
+     */
+    static void releaseParked() {
+        PARKED.keySet().forEach(invocation -> {
+            WebDriver driver = PARKED.remove(invocation);
+            if (driver != null) {
+                DriverPool.release(driver);
+            }
+        });
+    }
+
+    private static final class Resume {
+        private final String step;
+        private final FlowCheckpoint checkpoint;
+
+        private Resume(String step, FlowCheckpoint checkpoint) {
+            this.step = step;
+            this.checkpoint = checkpoint;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.travel.tests;
+
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+
+import com.travel.utils.DriverPool;
+import com.travel.utils.WebDriverFactory;
+
+/**
+ * Pre-warms the driver pool when the suite starts and quits every pooled session when it finishes.
+ */
+public class DriverPoolListener implements ISuiteListener {
+    @Override
+    public void onStart(ISuite suite) {
+        int sessions = Integer.getInteger("driver.pool.prewarm", Integer.getInteger("threads", 1));
+        if (sessions > 0) {
+            DriverPool.prewarm(System.getProperty("browser", "chrome"), sessions);
+        }
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        DriverPool.shutdown();
+        WebDriverFactory.printProfileReport();
+    }
+}
@@ -1,85 +1,206 @@
 package com.travel.tests;
 
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
 import org.openqa.selenium.WebDriver;
+import org.testng.Assert;
+import org.testng.ITestResult;
+import org.testng.annotations.AfterClass;
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
+import com.travel.pages.CitySuggestionCache;
+import com.travel.pages.FlightResults;
 import com.travel.pages.HomePage;
+import com.travel.pages.LocatorCache;
+import com.travel.utils.ActionTimeline;
+import com.travel.utils.CachingProxy;
+import com.travel.utils.SiteConfig;
 import com.travel.utils.WebDriverFactory;
 
 public class FlightSearchTest {
-    private WebDriver driver;
-    private HomePage homePage;
+    // One instance serves every thread in parallel runs, so page objects are kept per thread
+    private final ThreadLocal<HomePage> homePage = new ThreadLocal<>();
+    // Identifies the running method + data-provider row across retries, for checkpoints and parked sessions
+    private final ThreadLocal<String> invocation = new ThreadLocal<>();
     private static final int MAX_RETRIES = 2;
 
     @BeforeMethod
-    public void setUp() {
+    public void setUp(Method method, Object[] parameters, ITestResult result) {
+        String key = CheckpointedFlow.invocationKey(result);
+        invocation.set(key);
+        // Per-test timeline of every page-object action, written on tear down; row and attempt keep identical
+        // rows and retries from overwriting each other's file
+        ActionTimeline.beginTest(method.getName() + "-" + String.join("-",
+            Arrays.stream(parameters).map(String::valueOf).toArray(String[]::new))
+            + "-row" + CheckpointedFlow.rowIndex(result) + "-attempt" + CheckpointedFlow.nextAttempt(key));
         try {
-            driver = WebDriverFactory.createDriver("chrome");
-            driver.get("https://www.makemytrip.com");
-            homePage = new HomePage(driver);
-        } catch (Exception e) {
-            if (driver != null) {
-                try {
-                    driver.quit();
-                } catch (Exception ignored) {}
+            // A retry after a transient failure continues in the session the failed attempt used
+            WebDriver parked = CheckpointedFlow.unpark(key);
+            if (parked != null) {
+                WebDriverFactory.attachDriver(parked);
+            }
+            WebDriver driver = WebDriverFactory.getDriver(System.getProperty("browser", "chrome"));
+            if (!CheckpointedFlow.hasCheckpoint(key)) {
+                driver.get(SiteConfig.baseUrl());
             }
+            homePage.set(new HomePage(driver));
+        } catch (Exception e) {
+            WebDriverFactory.discardDriver();
             throw new RuntimeException("Failed to set up test: " + e.getMessage(), e);
         }
     }
 
+    /**
+     * City pairs to search, from {@code -Droutes=Delhi:Mumbai,Bengaluru:Goa}; defaults to Delhi to Mumbai.
+     */
+    @DataProvider(name = "cityPairs", parallel = true)
+    public static Object[][] cityPairs() {
+        List<Object[]> pairs = new ArrayList<>();
+        for (String route : System.getProperty("routes", "Delhi:Mumbai").split(",")) {
+            String[] cities = route.trim().split(":");
+            if (cities.length == 2) {
+                pairs.add(new Object[]{cities[0].trim(), cities[1].trim()});
+            }
+        }
+        return pairs.toArray(new Object[0][]);
+    }
+
+    /**
+     * The first configured city pair only; the full form flow is a smoke test, not the way to cover routes.
+     */
+    @DataProvider(name = "formCityPair")
+    public static Object[][] formCityPair() {
+        return new Object[][]{cityPairs()[0]};
+    }
+
+    @Test(dataProvider = "formCityPair", retryAnalyzer = TestRetry.class)
+    public void testFlightSearch(String source, String destination) {
+        HomePage page = homePage.get();
+        CheckpointedFlow flow = CheckpointedFlow.start(invocation.get(), page);
+
+        // Step 1: Navigate to Flights section and wait for page load
+        flow.step("navigateToFlights", page::navigateToFlights);
+
+        // Step 2: Enter flight details using full city names
+        flow.step("enterSourceLocation", () -> page.enterSourceLocation(source));
+        flow.step("enterDestinationLocation", () -> page.enterDestinationLocation(destination));
+        flow.step("selectNextMonthDate", page::selectNextMonthDate);
+
+        // Step 3: Search and analyze results
+        flow.step("clickSearch", page::clickSearch);
+
+        verifyResults(flow, page, source, destination);
+    }
+
+    @Test(dataProvider = "cityPairs", retryAnalyzer = TestRetry.class)
+    public void testFlightSearchDirect(String source, String destination) {
+        HomePage page = homePage.get();
+        CheckpointedFlow flow = CheckpointedFlow.start(invocation.get(), page);
+
+        // Steps 1-3: Open the results listing for the same date the form picks, without the form
+        flow.step("searchDirect", () -> page.searchDirect(source, destination,
+            LocalDate.now().plusMonths(1).withDayOfMonth(7), 1));
+
+        verifyResults(flow, page, source, destination);
+    }
+
+    /**
+     * Every configured city pair and its return leg, searched side by side in tabs of one browser.
+     */
     @Test(retryAnalyzer = TestRetry.class)
-    public void testFlightSearch() {
-        try {
-            // Step 1: Navigate to Flights section and wait for page load
-            homePage.navigateToFlights();
-
-            String source = "Delhi";
-            String destination = "Mumbai";
-
-            // Step 2: Enter flight details using full city names
-            homePage.enterSourceLocation(source);
-            homePage.enterDestinationLocation(destination);
-            homePage.selectNextMonthDate();
-
-            // Step 3: Search and analyze results
-            homePage.clickSearch();
-            
-            // Step 4: Wait for and analyze results
-            homePage.waitForFlightResults();
-            homePage.sortByPrice();
-            
-            // Step 5: Get flight details
-            homePage.printFlightDetails();
-            
-            // Step 6: Apply filters
-            homePage.filterByStops(0);
-            
-            // Step 7: Compare prices across websites
-            homePage.compareFlightPricesWithGoogle(source, destination);
-            
-            // Step 8: Open flight search in multiple websites for comparison
-            homePage.verifyFlightAcrossWebsites(source, destination);
-            
-            // Give some time to manually verify the results
-            Thread.sleep(3000);
-            
-            // Step 9: Close additional tabs
-            homePage.closeAdditionalTabs();
-            
-            // Step 10: Final selection on MakeMyTrip
-            homePage.selectCheapestFlight();
-            
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+    public void testSearchInTabs() {
+        List<String> routes = new ArrayList<>();
+        for (Object[] pair : cityPairs()) {
+            routes.add(pair[0] + "-" + pair[1]);
+            routes.add(pair[1] + "-" + pair[0]);
         }
+        Map<String, FlightResults> results = homePage.get().searchInTabs(
+            LocalDate.now().plusMonths(1).withDayOfMonth(7), 1, Duration.ofSeconds(30), routes.toArray(new String[0]));
+
+        Assert.assertEquals(results.keySet(), new LinkedHashSet<>(routes), "Searches not finished in their tabs");
+        results.forEach((route, flights) -> Assert.assertTrue(flights.size() > 0, "No flights listed for " + route));
+    }
+
+    private void verifyResults(CheckpointedFlow flow, HomePage page, String source, String destination) {
+        // Step 4: Wait for and analyze results
+        flow.step("waitForFlightResults", page::waitForFlightResults);
+        flow.step("sortByPrice", page::sortByPrice);
+
+        // Step 5: Get flight details
+        flow.step("printFlightDetails", page::printFlightDetails);
+
+        // Step 6: Apply filters
+        flow.step("filterByStops", () -> page.filterByStops(0));
+
+        // Step 7: Compare prices across websites
+        flow.step("compareFlightPricesWithGoogle", () -> page.compareFlightPricesWithGoogle(source, destination));
+
+        // Step 8: Compare fares on other websites
+        flow.step("verifyFlightAcrossWebsites", () -> page.verifyFlightAcrossWebsites(source, destination));
+
+        // Step 9: Close additional tabs
+        flow.step("closeAdditionalTabs", page::closeAdditionalTabs);
+
+        // Step 10: Final selection on MakeMyTrip
+        flow.step("selectCheapestFlight", page::selectCheapestFlight);
     }
 
     @AfterMethod
-    public void tearDown() {
-        if (driver != null) {
-            driver.quit();
+    public void tearDown(ITestResult result) {
+        String key = invocation.get();
+        invocation.remove();
+        homePage.remove();
+        ActionTimeline.endTest();
+
+        TestRetry.FailureKind kind = TestRetry.classify(result.getThrowable());
+        if (result.wasRetried()) {
+            // This attempt failed and will be retried
+            switch (kind) {
+                case TRANSIENT:
+                    // Keep the browser where it is so the retry can resume from the checkpoint
+                    if (CheckpointedFlow.hasCheckpoint(key)) {
+                        CheckpointedFlow.park(key, WebDriverFactory.detachDriver());
+                    } else {
+                        WebDriverFactory.releaseDriver();
+                    }
+                    break;
+                case SESSION_LOST:
+                    WebDriverFactory.discardDriver();
+                    break;
+                default:
+                    WebDriverFactory.releaseDriver();
+                    break;
+            }
+            return;
         }
+
+        // Passed, or failed for good: nothing resumes this invocation any more
+        CheckpointedFlow.forget(key);
+        if (result.getStatus() == ITestResult.FAILURE && kind == TestRetry.FailureKind.SESSION_LOST) {
+            WebDriverFactory.discardDriver();
+        } else {
+            WebDriverFactory.releaseDriver();
+        }
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void reportLocatorStats() {
+        CheckpointedFlow.releaseParked();
+        LocatorCache.printStats();
+        LocatorCache.save();
+        CitySuggestionCache.printStats();
+        CitySuggestionCache.save();
+        ActionTimeline.printReport();
+        CachingProxy.printSharedReport();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,37 @@
+package com.travel.tests;
+
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+
+import com.travel.mock.MockTravelServer;
+
+/**
+ * With {@code -Dmock=true}, starts the local mock travel site for the suite and points every site URL at it,
+ * so the suite runs offline and deterministically.
+ */
+public class MockServerListener implements ISuiteListener {
+    private MockTravelServer server;
+
+    @Override
+    public void onStart(ISuite suite) {
+        if (!Boolean.getBoolean("mock") || server != null) {
+            return;
+        }
+        server = MockTravelServer.fromSystemProperties();
+        server.start();
+        String baseUrl = server.baseUrl();
+        System.setProperty("base.url", baseUrl);
+        System.setProperty("search.engine.url", baseUrl + "/search-engine");
+        System.setProperty("comparison.sites",
+            baseUrl + "/compare/google-flights," + baseUrl + "/compare/cleartrip," + baseUrl + "/compare/goibibo");
+        System.out.println("Using mock travel site at " + baseUrl);
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        if (server != null) {
+            server.close();
+            server = null;
+        }
+    }
+}
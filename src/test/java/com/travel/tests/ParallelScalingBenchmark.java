@@ -0,0 +1,90 @@
+package com.travel.tests;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.testng.TestNG;
+import org.testng.annotations.Test;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlInclude;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import com.travel.utils.DriverPool;
+
+/**
+ * Measures suite wall-clock time at 1, 2, 4 and 8 threads.
+ *
+ * Each round runs the direct searches of {@link FlightSearchTest} over the same batch of city pairs
+ * ({@code -Droutes}, repeated up to {@code -Dbenchmark.searches}) with the given thread count, after warming one
+ * pooled session per thread so browser startup is not part of the measurement. Run with
+ * {@code mvn test -Dsuite.xml=benchmark.xml}.
+ */
+public class ParallelScalingBenchmark {
+    private static final int[] THREAD_COUNTS = {1, 2, 4, 8};
+
+    @Test
+    public void measureWallClockScaling() {
+        String browser = System.getProperty("browser", "chrome");
+        String routes = batchOfRoutes(System.getProperty("routes", "Delhi:Mumbai"),
+            Integer.getInteger("benchmark.searches", 8));
+        String previousRoutes = System.setProperty("routes", routes);
+
+        Map<Integer, Long> wallClock = new LinkedHashMap<>();
+        try {
+            for (int threads : THREAD_COUNTS) {
+                DriverPool.ensureCapacity(threads);
+                DriverPool.prewarm(browser, threads);
+
+                long start = System.nanoTime();
+                TestNG testng = new TestNG(false);
+                testng.setXmlSuites(Collections.singletonList(suite(threads)));
+                testng.setVerbose(0);
+                testng.run();
+                wallClock.put(threads, (System.nanoTime() - start) / 1_000_000L);
+            }
+        } finally {
+            if (previousRoutes == null) {
+                System.clearProperty("routes");
+            } else {
+                System.setProperty("routes", previousRoutes);
+            }
+        }
+
+        long baseline = wallClock.get(1);
+        System.out.println("\n=== Parallel Scaling (" + routes.split(",").length + " searches) ===");
+        System.out.println(String.format("%-8s %12s %10s %12s", "Threads", "Wall (ms)", "Speedup", "Efficiency"));
+        wallClock.forEach((threads, millis) -> {
+            double speedup = (double) baseline / Math.max(millis, 1);
+            System.out.println(String.format("%-8d %12d %9.2fx %11.0f%%", threads, millis, speedup,
+                100 * speedup / threads));
+        });
+    }
+
+    private static String batchOfRoutes(String routes, int searches) {
+        List<String> pairs = new ArrayList<>();
+        String[] configured = routes.split(",");
+        for (int i = 0; i < Math.max(searches, configured.length); i++) {
+            pairs.add(configured[i % configured.length].trim());
+        }
+        return String.join(",", pairs);
+    }
+
+    private static XmlSuite suite(int threads) {
+        XmlSuite suite = new XmlSuite();
+        suite.setName("Scaling x" + threads);
+        suite.setParallel(XmlSuite.ParallelMode.METHODS);
+        suite.setThreadCount(threads);
+        suite.setDataProviderThreadCount(threads);
+
+        XmlTest test = new XmlTest(suite);
+        test.setName("Flight Search x" + threads);
+        XmlClass searches = new XmlClass(FlightSearchTest.class);
+        searches.setIncludedMethods(Collections.singletonList(new XmlInclude("testFlightSearchDirect")));
+        test.setXmlClasses(Collections.singletonList(searches));
+        return suite;
+    }
+}
@@ -0,0 +1,33 @@
+package com.travel.tests;
+
+import java.util.List;
+
+import org.testng.IAlterSuiteListener;
+import org.testng.xml.XmlSuite;
+
+import com.travel.utils.DriverPool;
+
+/**
+ * Switches the suite to parallel execution when {@code -Dthreads=N} is set (N > 1).
+ *
+ * Test methods and parallel data-provider rows are both spread over N threads. The rows run on a pool of their
+ * own while their test method holds one of the method threads, so up to N - 1 other methods and N rows can hold
+ * a session at once: the driver pool is sized for 2N - 1. A session parked for a retry is picked up again by the
+ * retry on the same thread, so it needs no slot of its own.
+ */
+public class ParallelSuiteListener implements IAlterSuiteListener {
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        int threads = Integer.getInteger("threads", 1);
+        if (threads <= 1) {
+            return;
+        }
+        for (XmlSuite suite : suites) {
+            suite.setParallel(XmlSuite.ParallelMode.METHODS);
+            suite.setThreadCount(threads);
+            suite.setDataProviderThreadCount(threads);
+        }
+        DriverPool.ensureCapacity(2 * threads - 1);
+        System.out.println("Running suite in parallel on " + threads + " threads");
+    }
+}
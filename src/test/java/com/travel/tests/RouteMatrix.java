@@ -0,0 +1,166 @@
+package com.travel.tests;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonInput;
+
+/**
+ * Routes to search, read from a CSV or JSON file.
+ *
+ * CSV files have a {@code from,to,date,adults} header; JSON files hold an array of objects with the same keys.
+ * {@code date} is an ISO date or {@code +N} days from today (default {@code +30}), {@code adults} defaults to 1.
+ * Cities are airport codes or names {@code HomePage.searchDirect} can resolve.
+ */
+final class RouteMatrix {
+
+    private RouteMatrix() {
+    }
+
+    static List<Route> load(Path file) {
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return file.getFileName().toString().toLowerCase().endsWith(".json")
+                ? readJson(reader) : readCsv(new BufferedReader(reader));
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read route matrix " + file + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Keeps shard {@code index} out of {@code count} (spec {@code "index/count"}, 1-based): every
+     * {@code count}-th route starting at route {@code index}, so {@code 2/4} keeps routes 2, 6, 10 and so on.
+     * Interleaving spreads slow routes over the shards. A null spec keeps everything.
+     */
+    static List<Route> shard(List<Route> routes, String spec) {
+        if (spec == null || spec.isBlank()) {
+            return routes;
+        }
+        String[] parts = spec.split("/");
+        int index;
+        int count;
+        try {
+            if (parts.length != 2) {
+                throw new NumberFormatException("expected index/count");
+            }
+            index = Integer.parseInt(parts[0].trim()) - 1;
+            count = Integer.parseInt(parts[1].trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid -Dshard=" + spec + ", expected index/count such as 2/4", e);
+        }
+        if (count < 1 || index < 0 || index >= count) {
+            throw new IllegalArgumentException("Invalid -Dshard=" + spec
+                + ", index must be between 1 and count (count at least 1)");
+        }
+        List<Route> shard = new ArrayList<>();
+        for (int i = index; i < routes.size(); i += count) {
+            shard.add(routes.get(i));
+        }
+        return shard;
+    }
+
+    private static List<Route> readCsv(BufferedReader reader) throws IOException {
+        List<Route> routes = new ArrayList<>();
+        String header = reader.readLine();
+        if (header == null) {
+            return routes;
+        }
+        List<String> columns = new ArrayList<>();
+        for (String column : header.split(",")) {
+            columns.add(column.trim().toLowerCase());
+        }
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank() || line.startsWith("#")) {
+                continue;
+            }
+            String[] values = line.split(",");
+            routes.add(new Route(column(columns, values, "from"), column(columns, values, "to"),
+                column(columns, values, "date"), column(columns, values, "adults")));
+        }
+        return routes;
+    }
+
+    private static String column(List<String> columns, String[] values, String name) {
+        int index = columns.indexOf(name);
+        return index >= 0 && index < values.length ? values[index].trim() : null;
+    }
+
+    // Reads one route object at a time instead of binding the whole document
+    private static List<Route> readJson(Reader reader) {
+        List<Route> routes = new ArrayList<>();
+        try (JsonInput input = new Json().newInput(reader)) {
+            input.beginArray();
+            while (input.hasNext()) {
+                Map<String, Object> row = input.read(Json.MAP_TYPE);
+                routes.add(new Route(string(row.get("from")), string(row.get("to")), string(row.get("date")),
+                    string(row.get("adults"))));
+            }
+            input.endArray();
+        }
+        return routes;
+    }
+
+    private static String string(Object value) {
+        return value == null ? null : String.valueOf(value);
+    }
+
+    /**
+     * One search of the matrix.
+     */
+    static final class Route {
+        private final String from;
+        private final String to;
+        private final LocalDate date;
+        private final int adults;
+
+        Route(String from, String to, String date, String adults) {
+            if (from == null || from.isEmpty() || to == null || to.isEmpty()) {
+                throw new IllegalArgumentException("Route needs both 'from' and 'to': " + from + " -> " + to);
+            }
+            this.from = from;
+            this.to = to;
+            this.date = parseDate(date);
+            this.adults = adults == null || adults.isEmpty() ? 1 : (int) Double.parseDouble(adults);
+        }
+
+        private static LocalDate parseDate(String date) {
+            if (date == null || date.isEmpty()) {
+                return LocalDate.now().plusDays(30);
+            }
+            if (date.startsWith("+")) {
+                return LocalDate.now().plusDays(Long.parseLong(date.substring(1)));
+            }
+            return LocalDate.parse(date);
+        }
+
+        String getFrom() {
+            return from;
+        }
+
+        String getTo() {
+            return to;
+        }
+
+        LocalDate getDate() {
+            return date;
+        }
+
+        int getAdults() {
+            return adults;
+        }
+
+        @Override
+        public String toString() {
+            return from + "-" + to + " " + date + " x" + adults;
+        }
+    }
+}
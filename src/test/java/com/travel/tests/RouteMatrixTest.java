@@ -0,0 +1,88 @@
+package com.travel.tests;
+
+import java.nio.file.Paths;
+import java.util.Iterator;
+import java.util.List;
+
+import org.testng.Assert;
+import org.testng.ITestResult;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import com.travel.pages.FlightRecord;
+import com.travel.pages.HomePage;
+import com.travel.utils.ActionTimeline;
+import com.travel.utils.CachingProxy;
+import com.travel.utils.WebDriverFactory;
+
+/**
+ * Searches every route of a route matrix ({@code -Droutes.file}, CSV or JSON, default {@code routes.csv}) and
+ * streams one result line per route to {@code -Droutes.output} (default {@code target/route-results.csv}).
+ *
+ * Routes fan out over the {@code -Dthreads} worker pool; {@code -Dshard=2/4} runs only every fourth route,
+ * starting at the second, so several machines can share the matrix. Each search goes straight to the results URL.
+ */
+public class RouteMatrixTest {
+    private static RouteResultWriter results;
+    private final ThreadLocal<HomePage> homePage = new ThreadLocal<>();
+
+    @BeforeClass
+    public void openResults() {
+        results = new RouteResultWriter(Paths.get(System.getProperty("routes.output", "target/route-results.csv")));
+    }
+
+    @DataProvider(name = "routeMatrix", parallel = true)
+    public static Iterator<Object[]> routeMatrix() {
+        List<RouteMatrix.Route> routes = RouteMatrix.shard(
+            RouteMatrix.load(Paths.get(System.getProperty("routes.file", "routes.csv"))),
+            System.getProperty("shard"));
+        System.out.println("Route matrix: " + routes.size() + " routes");
+        return routes.stream().map(route -> new Object[]{route}).iterator();
+    }
+
+    @BeforeMethod
+    public void setUp(ITestResult result) {
+        // Per-route timeline of every page-object action, written on tear down
+        ActionTimeline.beginTest("searchRoute-" + result.getParameters()[0] + "-row"
+            + CheckpointedFlow.rowIndex(result));
+        homePage.set(new HomePage(WebDriverFactory.getDriver(System.getProperty("browser", "chrome"))));
+    }
+
+    @Test(dataProvider = "routeMatrix")
+    public void searchRoute(RouteMatrix.Route route) {
+        long start = System.nanoTime();
+        try {
+            HomePage page = homePage.get();
+            page.searchDirect(route.getFrom(), route.getTo(), route.getDate(), route.getAdults());
+            page.waitForFlightResults();
+            // The listing is unsorted, so cheapestFlights scrolls through every lazy-loaded card
+            List<FlightRecord> cheapest = page.cheapestFlights(1);
+            Assert.assertFalse(cheapest.isEmpty(), "No flights listed for " + route);
+            FlightRecord flight = cheapest.get(0);
+            Assert.assertTrue(flight.getPrice() > 0, "No fare listed for " + route + ": " + flight);
+            results.passed(route, flight, (System.nanoTime() - start) / 1_000_000L);
+        } catch (RuntimeException | AssertionError e) {
+            results.failed(route, e, (System.nanoTime() - start) / 1_000_000L);
+            throw e;
+        }
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        homePage.remove();
+        ActionTimeline.endTest();
+        WebDriverFactory.releaseDriver();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void closeResults() {
+        if (results != null) {
+            results.close();
+        }
+        CachingProxy.printSharedReport();
+    }
+}
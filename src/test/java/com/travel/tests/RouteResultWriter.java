@@ -0,0 +1,93 @@
+package com.travel.tests;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import com.travel.pages.FlightRecord;
+
+/**
+ * Appends one CSV line per finished route to a single results file, flushing each line so results survive a
+ * crashed run and never pile up in memory. Thread-safe; counts outcomes for the throughput summary.
+ */
+final class RouteResultWriter implements AutoCloseable {
+    private static final String HEADER =
+        "from,to,date,adults,status,cheapest_price,airline,departure,duration,elapsed_ms,thread,error";
+
+    private final Path file;
+    private final BufferedWriter writer;
+    private final long startNanos = System.nanoTime();
+    private int passed;
+    private int failed;
+
+    RouteResultWriter(Path file) {
+        this.file = file;
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+            writer.write(HEADER);
+            writer.newLine();
+            writer.flush();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to open route results " + file + ": " + e.getMessage(), e);
+        }
+    }
+
+    void passed(RouteMatrix.Route route, FlightRecord cheapest, long elapsedMillis) {
+        write(route, "PASS", cheapest, elapsedMillis, null);
+    }
+
+    void failed(RouteMatrix.Route route, Throwable error, long elapsedMillis) {
+        write(route, "FAIL", null, elapsedMillis, error.getClass().getSimpleName() + ": " + error.getMessage());
+    }
+
+    private synchronized void write(RouteMatrix.Route route, String status, FlightRecord cheapest,
+                                    long elapsedMillis, String error) {
+        if ("PASS".equals(status)) {
+            passed++;
+        } else {
+            failed++;
+        }
+        String line = String.join(",", csv(route.getFrom()), csv(route.getTo()), route.getDate().toString(),
+            Integer.toString(route.getAdults()), status,
+            cheapest == null ? "" : Integer.toString(cheapest.getPrice()),
+            csv(cheapest == null ? null : cheapest.getAirline()),
+            csv(cheapest == null ? null : cheapest.getDeparture()),
+            csv(cheapest == null ? null : cheapest.getDuration()),
+            Long.toString(elapsedMillis), csv(Thread.currentThread().getName()), csv(error));
+        try {
+            writer.write(line);
+            writer.newLine();
+            writer.flush();
+        } catch (IOException e) {
+            System.err.println("Could not write route result: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            writer.close();
+        } catch (IOException e) {
+            System.err.println("Could not close route results: " + e.getMessage());
+        }
+        double minutes = (System.nanoTime() - startNanos) / 60e9;
+        int total = passed + failed;
+        System.out.println("\n=== Route Matrix ===");
+        System.out.println(String.format("Routes: %d (passed %d, failed %d) in %.1f min - %.1f routes/minute",
+            total, passed, failed, minutes, minutes > 0 ? total / minutes : 0));
+        System.out.println("Results written to " + file);
+    }
+
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        String flat = value.replaceAll("[\\r\\n]+", " ");
+        return flat.contains(",") || flat.contains("\"") ? "\"" + flat.replace("\"", "\"\"") + "\"" : flat;
+    }
+}
@@ -1,18 +1,74 @@
 package com.travel.tests;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.openqa.selenium.InvalidArgumentException;
+import org.openqa.selenium.InvalidSelectorException;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.remote.UnreachableBrowserException;
 import org.testng.IRetryAnalyzer;
 import org.testng.ITestResult;
 
 public class TestRetry implements IRetryAnalyzer {
-    private int retryCount = 0;
     private static final int MAX_RETRY_COUNT = 2;
 
+    /**
+     * How a failure should be handled: transient failures are retried in the same session from the last
+     * checkpoint, a lost session is retried in a new one and fatal failures are not retried at all.
+     */
+    enum FailureKind {
+        TRANSIENT, SESSION_LOST, FATAL
+    }
+
+    // TestNG shares one analyzer across every invocation of a method, including parallel data-provider rows,
+    // so attempts are counted per method + row
+    private final Map<String, Integer> retryCounts = new ConcurrentHashMap<>();
+
     @Override
     public boolean retry(ITestResult result) {
-        if (retryCount < MAX_RETRY_COUNT) {
-            retryCount++;
-            return true;
+        FailureKind kind = classify(result.getThrowable());
+        String invocation = CheckpointedFlow.invocationKey(result);
+        if (kind == FailureKind.FATAL) {
+            System.out.println("Not retrying " + invocation + ": " + describe(result.getThrowable()));
+            return false;
+        }
+        boolean retry = retryCounts.merge(invocation, 1, Integer::sum) <= MAX_RETRY_COUNT;
+        if (retry) {
+            System.out.println("Retrying " + invocation + " after " + kind.name().toLowerCase() + " failure: "
+                + describe(result.getThrowable()));
+        }
+        return retry;
+    }
+
+    /**
+     * Classifies a failure by walking its cause chain: assertion failures, bad locators and bad test input are
+     * fatal and a dead browser means the session is lost. Anything else (timeouts, stale or covered elements,
+     * unloaded documents, network errors, page objects giving up) is treated as transient.
+     */
+    static FailureKind classify(Throwable failure) {
+        if (failure == null) {
+            return FailureKind.FATAL;
+        }
+        for (Throwable cause = failure; cause != null; cause = cause.getCause() == cause ? null : cause.getCause()) {
+            if (cause instanceof AssertionError || cause instanceof InvalidSelectorException
+                || cause instanceof InvalidArgumentException || cause instanceof IllegalArgumentException) {
+                return FailureKind.FATAL;
+            }
+            if (cause instanceof NoSuchSessionException || cause instanceof UnreachableBrowserException
+                || cause instanceof SessionNotCreatedException) {
+                return FailureKind.SESSION_LOST;
+            }
+        }
+        return FailureKind.TRANSIENT;
+    }
+
+    private static String describe(Throwable failure) {
+        if (failure == null) {
+            return "unknown failure";
         }
-        return false;
+        String message = String.valueOf(failure.getMessage());
+        return failure.getClass().getSimpleName() + ": " + message.split("\n")[0];
     }
-}
\ No newline at end of file
+}